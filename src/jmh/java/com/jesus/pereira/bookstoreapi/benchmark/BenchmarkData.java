@@ -0,0 +1,90 @@
+package com.jesus.pereira.bookstoreapi.benchmark;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    static final int AUTHORS = 100;
+    static final int CATEGORIES = 20;
+
+    private BenchmarkData() {
+    }
+
+    static Author author(long id) {
+        return Author.builder()
+                .id(id)
+                .name("Author " + id)
+                .surname("Surname " + id)
+                .version(0L)
+                .build();
+    }
+
+    static Category category(long id) {
+        return Category.builder()
+                .id(id)
+                .name("Category " + id)
+                .description("Description of category " + id)
+                .version(0L)
+                .build();
+    }
+
+    static Book book(long id) {
+        return Book.builder()
+                .id(id)
+                .name("Book " + id)
+                .description("Description of book " + id)
+                .prize(new BigDecimal("19.99"))
+                .pages(320)
+                .creationDate(LocalDateTime.now())
+                .version(0L)
+                .author(author(id % 100))
+                .category(category(id % 20))
+                .build();
+    }
+
+    static BookDTO bookDto(long id) {
+        return BookDTO.builder()
+                .id(id)
+                .name("Book " + id)
+                .description("Description of book " + id)
+                .prize(new BigDecimal("19.99"))
+                .pages(320)
+                .authorId(id % 100)
+                .categoryId(id % 20)
+                .authorDTO(AuthorDTO.builder().id(id % 100).name("Author").surname("Surname").version(0L).build())
+                .categoryDTO(CategoryDTO.builder().id(id % 20).name("Category").description("Description").version(0L).build())
+                .version(0L)
+                .build();
+    }
+
+    static List<BookDTO> bookDtos(int size) {
+        List<BookDTO> books = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            books.add(bookDto(id));
+        }
+        return books;
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int books) {
+        jdbcTemplate.update("insert into author (name, surname, version) " +
+                "select 'Author ' || x, 'Surname ' || x, 0 from system_range(1, " + AUTHORS + ")");
+        jdbcTemplate.update("insert into category (name, description, version) " +
+                "select 'Category ' || x, 'Description of category ' || x, 0 from system_range(1, " + CATEGORIES + ")");
+        jdbcTemplate.update("insert into book (id, name, description, prize, pages, creation_date, version, author_id, category_id) " +
+                "select x, 'Book ' || x, 'Description of book ' || x, 9.99 + mod(x, 50), 100 + mod(x, 900), " +
+                "current_timestamp, 0, 1 + mod(x, " + AUTHORS + "), 1 + mod(x, " + CATEGORIES + ") " +
+                "from system_range(1, " + books + ")");
+        jdbcTemplate.execute("alter sequence book_seq restart with " + (books + 1000));
+    }
+}
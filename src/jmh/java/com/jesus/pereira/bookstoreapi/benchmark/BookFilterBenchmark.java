@@ -0,0 +1,104 @@
+package com.jesus.pereira.bookstoreapi.benchmark;
+
+import com.jesus.pereira.bookstoreapi.BookStoreApiApplication;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFilterCriteria;
+import com.jesus.pereira.bookstoreapi.service.BookFilterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * First page of one author's books in one category, cheapest first: one specification query against the
+ * {@code findByAuthorId}/{@code findByCategoryId} pair intersected and sorted in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookFilterBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final long AUTHOR_ID = 1L;
+    private static final long CATEGORY_ID = 1L;
+
+    @Param({"1000", "100000", "1000000"})
+    int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private BookFilterService bookFilterService;
+    private BookRepository bookRepository;
+    private BookFilterCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(BookStoreApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:filter-benchmark-" + datasetSize + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), datasetSize);
+
+        bookFilterService = context.getBean(BookFilterService.class);
+        bookRepository = context.getBean(BookRepository.class);
+        criteria = BookFilterCriteria.builder()
+                .authorIds(Set.of(AUTHOR_ID))
+                .categoryIds(Set.of(CATEGORY_ID))
+                .sort("prize")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public KeysetPage<BookDTO> specificationFilter() {
+        return bookFilterService.filterBooks(criteria, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Book> chainedLookups() {
+        Set<Long> inCategory = bookRepository.findByCategoryId(CATEGORY_ID).stream()
+                .map(Book::getId)
+                .collect(Collectors.toSet());
+        return bookRepository.findByAuthorId(AUTHOR_ID).stream()
+                .filter(book -> inCategory.contains(book.getId()))
+                .sorted(Comparator.comparing(Book::getPrize, Comparator.nullsFirst(Comparator.<BigDecimal>naturalOrder()))
+                        .thenComparing(Book::getId))
+                .limit(PAGE_SIZE)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,116 @@
+package com.jesus.pereira.bookstoreapi.benchmark;
+
+import com.jesus.pereira.bookstoreapi.BookStoreApiApplication;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.search.SearchIndexInitializer;
+import com.jesus.pereira.bookstoreapi.service.BookFetch;
+import com.jesus.pereira.bookstoreapi.service.BookService;
+import com.jesus.pereira.bookstoreapi.service.impl.BookViewInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String NAME_QUERY = "Book 99";
+
+    @Param({"1000", "100000", "1000000"})
+    int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private String middleToken;
+    private final AtomicLong createdBooks = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(BookStoreApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + datasetSize + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), datasetSize);
+        context.getBean(SearchIndexInitializer.class).afterSingletonsInstantiated();
+        context.getBean(BookViewInitializer.class).afterSingletonsInstantiated();
+
+        bookService = context.getBean(BookService.class);
+        middleToken = ContinuationToken.encode(datasetSize / 2L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Book createBook() {
+        long n = createdBooks.incrementAndGet();
+        return bookService.createBook(BookDTO.builder()
+                .name("Benchmark book " + n)
+                .description("Created by the benchmark")
+                .prize(new BigDecimal("9.99"))
+                .pages(100)
+                .authorId(1 + n % BenchmarkData.AUTHORS)
+                .categoryId(1 + n % BenchmarkData.CATEGORIES)
+                .build());
+    }
+
+    @Benchmark
+    public List<Book> findBooksByNameLike() {
+        return bookService.findBooksByNameLike(NAME_QUERY);
+    }
+
+    @Benchmark
+    public KeysetPage<Book> findAllBooksFirstPage() {
+        return bookService.findAllBooks(null, PAGE_SIZE, BookFetch.WITH_AUTHOR_AND_CATEGORY);
+    }
+
+    @Benchmark
+    public KeysetPage<Book> findAllBooksMiddlePage() {
+        return bookService.findAllBooks(middleToken, PAGE_SIZE, BookFetch.WITH_AUTHOR_AND_CATEGORY);
+    }
+
+    @Benchmark
+    public KeysetPage<BookDTO> findAllBookViewsMiddlePage() {
+        return bookService.findAllBookViews(middleToken, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookDTO> findBookViewsByAuthor() {
+        return bookService.findBookViewsByAuthorId(1L);
+    }
+}
@@ -0,0 +1,93 @@
+package com.jesus.pereira.bookstoreapi.benchmark;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.mapper.AuthorMapper;
+import com.jesus.pereira.bookstoreapi.mapper.AuthorMapperImpl;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapperImpl;
+import com.jesus.pereira.bookstoreapi.mapper.CategoryMapper;
+import com.jesus.pereira.bookstoreapi.mapper.CategoryMapperImpl;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private BookMapper bookMapper;
+    private AuthorMapper authorMapper;
+    private CategoryMapper categoryMapper;
+
+    private Book book;
+    private BookDTO bookDto;
+    private Author author;
+    private Category category;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(BookMapperImpl.class, AuthorMapperImpl.class,
+                CategoryMapperImpl.class);
+        bookMapper = context.getBean(BookMapper.class);
+        authorMapper = context.getBean(AuthorMapper.class);
+        categoryMapper = context.getBean(CategoryMapper.class);
+
+        book = BenchmarkData.book(1L);
+        bookDto = BenchmarkData.bookDto(1L);
+        author = BenchmarkData.author(1L);
+        category = BenchmarkData.category(1L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookDTO bookToDto() {
+        return bookMapper.toBookDto(book);
+    }
+
+    @Benchmark
+    public Book dtoToBook() {
+        return bookMapper.toBook(bookDto);
+    }
+
+    @Benchmark
+    public Book updateBookFromDto() {
+        Book target = Book.builder().build();
+        bookMapper.updateBook(bookDto, target);
+        return target;
+    }
+
+    @Benchmark
+    public AuthorDTO authorToDto() {
+        return authorMapper.toAuthorDto(author);
+    }
+
+    @Benchmark
+    public CategoryDTO categoryToDto() {
+        return categoryMapper.toCategoryDto(category);
+    }
+}
@@ -0,0 +1,51 @@
+package com.jesus.pereira.bookstoreapi.benchmark;
+
+import com.jesus.pereira.bookstoreapi.search.PrefixTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ten completions of a one-letter prefix whose subtree holds every term. The walk stops at the limit, so the time
+ * should stay flat as the subtree grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PrefixTrieBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    int subtreeSize;
+
+    private PrefixTrie prefixTrie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prefixTrie = new PrefixTrie();
+        for (int i = 0; i < subtreeSize; i++) {
+            prefixTrie.add(String.format("Dark Tower %07d", i));
+        }
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return prefixTrie.suggest("d", LIMIT);
+    }
+}
@@ -0,0 +1,108 @@
+package com.jesus.pereira.bookstoreapi.benchmark;
+
+import com.jesus.pereira.bookstoreapi.BookStoreApiApplication;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.search.SearchIndexInitializer;
+import com.jesus.pereira.bookstoreapi.service.impl.BookViewInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the read endpoints with many concurrent clients against a deliberately small Tomcat pool,
+ * comparing thread-per-request handling with the bounded request executor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RequestExecutionBenchmark {
+
+    private static final int BOOKS = 100_000;
+
+    @Param({"false", "true"})
+    String asyncEnabled;
+
+    @Param({"16"})
+    int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest listRequest;
+    private HttpRequest searchRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(BookStoreApiApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + tomcatThreads,
+                        "bookstore.web.async.enabled=" + asyncEnabled,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + asyncEnabled + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), BOOKS);
+        context.getBean(SearchIndexInitializer.class).afterSingletonsInstantiated();
+        context.getBean(BookViewInitializer.class).afterSingletonsInstantiated();
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        listRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/books?size=20&continuationToken="
+                + ContinuationToken.encode(BOOKS / 2L))).GET().build();
+        searchRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/books/search?query=book%2099&limit=20")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String listBooks() throws IOException, InterruptedException {
+        return send(listRequest);
+    }
+
+    @Benchmark
+    public String searchBooks() throws IOException, InterruptedException {
+        return send(searchRequest);
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,270 @@
+package com.jesus.pereira.bookstoreapi.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheEventListenerConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventType;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pre-serialized JSON for single books and the by-author / by-category lists, kept on heap with an
+ * off-heap overflow tier. Every entry is tagged with the books, authors and categories it embeds so
+ * a write only drops the responses that contain it. Entries leaving the cache for any reason, including
+ * capacity eviction and expiry, are pruned from the tag index so it stays bounded by the cache size.
+ * Concurrent misses for one key share a single load and serialization.
+ */
+@Component
+public class BookResponseCache implements DisposableBean {
+
+    private static final String CACHE_NAME = "book-responses";
+
+    private final ObjectMapper objectMapper;
+    private final BookMapper bookMapper;
+    private final CacheManager cacheManager;
+    private final Cache<String, CachedResponse> responses;
+    private final Map<String, Set<String>> keysByTag = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tagsByKey = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedResponse>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BookResponseCache(ObjectMapper objectMapper, BookMapper bookMapper,
+                             @Value("${bookstore.response-cache.heap-entries:2000}") long heapEntries,
+                             @Value("${bookstore.response-cache.offheap-megabytes:32}") long offHeapMegabytes) {
+        this.objectMapper = objectMapper;
+        this.bookMapper = bookMapper;
+        CacheEventListener<String, CachedResponse> unindexer = this::unindex;
+        this.cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                .withCache(CACHE_NAME, CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(String.class, CachedResponse.class,
+                                ResourcePoolsBuilder.heap(heapEntries).offheap(offHeapMegabytes, MemoryUnit.MB))
+                        .withValueSerializer(new CachedResponseSerializer())
+                        .withService(CacheEventListenerConfigurationBuilder
+                                .newEventListenerConfiguration(unindexer, EventType.EVICTED, EventType.EXPIRED,
+                                        EventType.REMOVED)
+                                .unordered()
+                                .synchronous()))
+                .build(true);
+        this.responses = cacheManager.getCache(CACHE_NAME, String.class, CachedResponse.class);
+    }
+
+    public static String bookKey(Long bookId) {
+        return "book:" + bookId;
+    }
+
+    public static String booksByAuthorKey(Long authorId) {
+        return "books-by-author:" + authorId;
+    }
+
+    public static String booksByCategoryKey(Long categoryId) {
+        return "books-by-category:" + categoryId;
+    }
+
+    public Optional<CachedResponse> get(String key) {
+        return Optional.ofNullable(responses.get(key));
+    }
+
+    public CachedResponse loadBook(Long bookId, Supplier<Book> loader) {
+        String key = bookKey(bookId);
+        return loadOnce(key, () -> {
+            long generation = invalidations.get();
+            Book book = loader.get();
+            BookDTO bookDto = bookMapper.toBookDto(book);
+            VersionDTO version = VersionDTO.of(book);
+            CachedResponse response = new CachedResponse(version.getTag(), version.lastModifiedMillis(), toJson(bookDto));
+            return put(key, generation, response, tagsOf(List.of(bookDto)));
+        });
+    }
+
+    public CachedResponse loadBooks(String key, Supplier<List<BookDTO>> loader) {
+        return loadOnce(key, () -> {
+            long generation = invalidations.get();
+            List<BookDTO> books = loader.get();
+            CachedResponse response = new CachedResponse(null, CachedResponse.NO_LAST_MODIFIED, toJson(books));
+            return put(key, generation, response, tagsOf(books));
+        });
+    }
+
+    public void evictBook(Long bookId) {
+        invalidate(bookTag(bookId));
+    }
+
+    public void evictBooks(Collection<Long> bookIds) {
+        bookIds.forEach(this::evictBook);
+    }
+
+    public void evictBookLists(Long authorId, Long categoryId) {
+        invalidations.incrementAndGet();
+        if (authorId != null) {
+            responses.remove(booksByAuthorKey(authorId));
+        }
+        if (categoryId != null) {
+            responses.remove(booksByCategoryKey(categoryId));
+        }
+    }
+
+    public void evictBookLists(Collection<Long> authorIds, Collection<Long> categoryIds) {
+        invalidations.incrementAndGet();
+        authorIds.forEach(authorId -> responses.remove(booksByAuthorKey(authorId)));
+        categoryIds.forEach(categoryId -> responses.remove(booksByCategoryKey(categoryId)));
+    }
+
+    public void evictAuthor(Long authorId) {
+        invalidate(authorTag(authorId));
+    }
+
+    public void evictCategory(Long categoryId) {
+        invalidate(categoryTag(categoryId));
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        keysByTag.clear();
+        tagsByKey.clear();
+        responses.clear();
+    }
+
+    @Override
+    public void destroy() {
+        cacheManager.close();
+    }
+
+    int indexedTags() {
+        return keysByTag.size();
+    }
+
+    /**
+     * Callers missing the same key while a load is in flight wait for it instead of loading again; a caller
+     * that missed just before the previous load finished is served the entry it stored.
+     */
+    private CachedResponse loadOnce(String key, Supplier<CachedResponse> load) {
+        CompletableFuture<CachedResponse> call = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> running = loading.putIfAbsent(key, call);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            CachedResponse cached = responses.get(key);
+            CachedResponse response = cached != null ? cached : load.get();
+            loading.remove(key, call);
+            call.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            loading.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static CachedResponse await(CompletableFuture<CachedResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A response loaded while an invalidation ran may already be stale, so it is served but dropped again.
+     */
+    private CachedResponse put(String key, long generation, CachedResponse response, Set<String> tags) {
+        Set<String> previous = tagsByKey.put(key, tags);
+        if (previous != null) {
+            previous.stream().filter(tag -> !tags.contains(tag)).forEach(tag -> unlink(tag, key));
+        }
+        tags.forEach(tag -> keysByTag.computeIfAbsent(tag, unused -> ConcurrentHashMap.newKeySet()).add(key));
+        responses.put(key, response);
+        if (invalidations.get() != generation) {
+            responses.remove(key);
+        }
+        return response;
+    }
+
+    private void invalidate(String tag) {
+        invalidations.incrementAndGet();
+        Set<String> keys = keysByTag.remove(tag);
+        if (keys != null) {
+            keys.forEach(responses::remove);
+        }
+    }
+
+    private void unindex(CacheEvent<? extends String, ? extends CachedResponse> event) {
+        Set<String> tags = tagsByKey.remove(event.getKey());
+        if (tags != null) {
+            tags.forEach(tag -> unlink(tag, event.getKey()));
+        }
+    }
+
+    private void unlink(String tag, String key) {
+        keysByTag.computeIfPresent(tag, (unused, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Set<String> tagsOf(List<BookDTO> books) {
+        Set<String> tags = new HashSet<>();
+        for (BookDTO book : books) {
+            tags.add(bookTag(book.getId()));
+            if (book.getAuthorDTO() != null) {
+                tags.add(authorTag(book.getAuthorDTO().getId()));
+            }
+            if (book.getCategoryDTO() != null) {
+                tags.add(categoryTag(book.getCategoryDTO().getId()));
+            }
+        }
+        return tags;
+    }
+
+    private static String bookTag(Long bookId) {
+        return "book:" + bookId;
+    }
+
+    private static String authorTag(Long authorId) {
+        return "author:" + authorId;
+    }
+
+    private static String categoryTag(Long categoryId) {
+        return "category:" + categoryId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.jesus.pereira.bookstoreapi.cache;
+
+import lombok.Getter;
+
+@Getter
+public final class CachedResponse {
+
+    public static final long NO_LAST_MODIFIED = -1;
+
+    private final String eTag;
+
+    private final long lastModified;
+
+    private final byte[] body;
+
+    public CachedResponse(String eTag, long lastModified, byte[] body) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.body = body;
+    }
+}
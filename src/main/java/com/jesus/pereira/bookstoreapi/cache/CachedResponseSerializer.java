@@ -0,0 +1,46 @@
+package com.jesus.pereira.bookstoreapi.cache;
+
+import org.ehcache.spi.serialization.Serializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Length-prefixed layout: [tag length][tag][last modified][body]. A tag length of -1 means no tag.
+ */
+final class CachedResponseSerializer implements Serializer<CachedResponse> {
+
+    @Override
+    public ByteBuffer serialize(CachedResponse response) {
+        byte[] tag = response.getETag() == null ? null : response.getETag().getBytes(StandardCharsets.UTF_8);
+        int tagLength = tag == null ? 0 : tag.length;
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + tagLength + Long.BYTES + response.getBody().length);
+        buffer.putInt(tag == null ? -1 : tag.length);
+        if (tag != null) {
+            buffer.put(tag);
+        }
+        buffer.putLong(response.getLastModified());
+        buffer.put(response.getBody());
+        return buffer.flip();
+    }
+
+    @Override
+    public CachedResponse read(ByteBuffer buffer) {
+        int tagLength = buffer.getInt();
+        String tag = null;
+        if (tagLength >= 0) {
+            byte[] bytes = new byte[tagLength];
+            buffer.get(bytes);
+            tag = new String(bytes, StandardCharsets.UTF_8);
+        }
+        long lastModified = buffer.getLong();
+        byte[] body = new byte[buffer.remaining()];
+        buffer.get(body);
+        return new CachedResponse(tag, lastModified, body);
+    }
+
+    @Override
+    public boolean equals(CachedResponse response, ByteBuffer buffer) {
+        return serialize(response).equals(buffer);
+    }
+}
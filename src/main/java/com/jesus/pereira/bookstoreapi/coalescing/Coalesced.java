@@ -0,0 +1,16 @@
+package com.jesus.pereira.bookstoreapi.coalescing;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read method whose concurrent calls with equal arguments share a single execution. The result is
+ * handed to callers on other request threads, so only methods returning DTOs or projections may carry it: a
+ * JPA entity stays bound to the first caller's persistence context and its lazy associations to that Session.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
@@ -0,0 +1,87 @@
+package com.jesus.pereira.bookstoreapi.coalescing;
+
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Single-flight for {@link Coalesced} methods: the first caller runs the method and callers arriving with the
+ * same arguments while it is in flight wait for its result instead of querying again. Calls made inside a
+ * transaction always run on their own, so they read their own transaction's state. Ordered ahead of the
+ * transaction and timer advice so only real executions are timed.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescingAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(com.jesus.pereira.bookstoreapi.coalescing.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        List<Object> key = keyOf(joinPoint);
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalescedCalls(joinPoint).increment();
+            return await(running);
+        }
+        try {
+            Object result = joinPoint.proceed();
+            inFlight.remove(key, call);
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static List<Object> keyOf(ProceedingJoinPoint joinPoint) {
+        Object[] args = joinPoint.getArgs();
+        List<Object> key = new ArrayList<>(args.length + 1);
+        key.add(((MethodSignature) joinPoint.getSignature()).getMethod());
+        Collections.addAll(key, args);
+        return key;
+    }
+
+    private static Object await(CompletableFuture<Object> running) throws Throwable {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Counter coalescedCalls(ProceedingJoinPoint joinPoint) {
+        return Counter.builder(MetricsConfiguration.COALESCED_CALLS)
+                .tag("class", joinPoint.getStaticPart().getSignature().getDeclaringTypeName())
+                .tag("method", joinPoint.getStaticPart().getSignature().getName())
+                .register(meterRegistry);
+    }
+}
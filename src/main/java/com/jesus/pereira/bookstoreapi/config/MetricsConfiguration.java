@@ -0,0 +1,19 @@
+package com.jesus.pereira.bookstoreapi.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+    public static final String SERVICE_TIMER = "bookstore.service";
+    public static final String REPOSITORY_TIMER = "bookstore.repository";
+    public static final String COALESCED_CALLS = "bookstore.service.coalesced";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
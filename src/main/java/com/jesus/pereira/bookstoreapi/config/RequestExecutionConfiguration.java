@@ -0,0 +1,41 @@
+package com.jesus.pereira.bookstoreapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Opt-in ({@code bookstore.web.async.enabled=true}) executor that takes JDBC-bound read requests off the
+ * servlet container threads. The number of workers defaults to the Hikari pool size, so a worker never
+ * waits for a connection, and the queue is bounded so overload is rejected instead of piling up.
+ * Declaring it makes Spring Boot skip its default application executor, which Spring MVC needs for
+ * streaming responses, so that one is declared here as well.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "bookstore.web.async", name = "enabled", havingValue = "true")
+public class RequestExecutionConfiguration {
+
+    public static final String REQUEST_TASK_EXECUTOR = "requestTaskExecutor";
+
+    @Bean(name = REQUEST_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor requestTaskExecutor(
+            @Value("${bookstore.web.async.threads:${spring.datasource.hikari.maximum-pool-size:10}}") int threads,
+            @Value("${bookstore.web.async.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("request-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder taskExecutorBuilder) {
+        return taskExecutorBuilder.build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.jesus.pereira.bookstoreapi.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@ConditionalOnProperty(prefix = "bookstore.scheduling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfiguration {
+}
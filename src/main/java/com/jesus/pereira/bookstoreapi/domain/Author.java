@@ -5,9 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
@@ -16,7 +21,10 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
 @Table(name = "author")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author")
+@BatchSize(size = 50)
 public class Author {
 
     @Id
@@ -30,6 +38,19 @@ public class Author {
     @Column(name = "surname")
     private String surname;
 
+    @Column(name = "name_key", insertable = false, updatable = false)
+    private String nameKey;
+
+    @Column(name = "surname_key", insertable = false, updatable = false)
+    private String surnameKey;
+
+    @Column(name = "update_date")
+    private LocalDateTime updateDate;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @OneToMany(
             mappedBy = "author",
             cascade = CascadeType.ALL,
@@ -0,0 +1,72 @@
+package com.jesus.pereira.bookstoreapi.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+
+/**
+ * Flattened book, author and category row backing the list endpoints. Rows are rebuilt from the
+ * normalized tables by {@link com.jesus.pereira.bookstoreapi.repository.BookViewRepository}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "book_view", indexes = {
+        @Index(name = "idx_book_view_author", columnList = "author_id, id"),
+        @Index(name = "idx_book_view_category", columnList = "category_id, id")
+})
+public class BookView {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "prize")
+    private BigDecimal prize;
+
+    @Column(name = "pages")
+    private int pages;
+
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "author_id")
+    private Long authorId;
+
+    @Column(name = "author_name")
+    private String authorName;
+
+    @Column(name = "author_surname")
+    private String authorSurname;
+
+    @Column(name = "author_version")
+    private Long authorVersion;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "category_name")
+    private String categoryName;
+
+    @Column(name = "category_description")
+    private String categoryDescription;
+
+    @Column(name = "category_version")
+    private Long categoryVersion;
+}
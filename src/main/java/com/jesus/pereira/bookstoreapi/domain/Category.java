@@ -5,9 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -15,7 +20,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
 @Table(name = "category")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
+@BatchSize(size = 50)
 public class Category {
 
     @Id
@@ -26,9 +34,19 @@ public class Category {
     @Column(name = "name")
     private String name;
 
+    @Column(name = "name_key", insertable = false, updatable = false)
+    private String nameKey;
+
     @Column(name = "description")
     private String description;
 
+    @Column(name = "update_date")
+    private LocalDateTime updateDate;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @OneToMany(
             mappedBy = "category",
             cascade = CascadeType.ALL,
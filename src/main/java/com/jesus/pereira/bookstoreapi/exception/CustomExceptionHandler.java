@@ -4,8 +4,10 @@ package com.jesus.pereira.bookstoreapi.exception;
 import com.jesus.pereira.bookstoreapi.domain.Author;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -75,4 +77,46 @@ public class CustomExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
+
+    @ExceptionHandler(value = {InvalidContinuationTokenException.class, InvalidSearchCriteriaException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequestException(Exception ex){
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(ex.getMessage())
+                .build();
+
+        logger.info("Error found at: ".concat(errorResponse.getTimestamp().toString()));
+        logger.info("Error message: ".concat(errorResponse.getError()));
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(value = {StaleVersionException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handleStaleVersionException(Exception ex){
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error(ex.getMessage())
+                .build();
+
+        logger.info("Error found at: ".concat(errorResponse.getTimestamp().toString()));
+        logger.info("Error message: ".concat(errorResponse.getError()));
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(value = TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejectedException(Exception ex){
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(ex.getMessage())
+                .build();
+
+        logger.info("Error found at: ".concat(errorResponse.getTimestamp().toString()));
+        logger.info("Error message: ".concat(errorResponse.getError()));
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
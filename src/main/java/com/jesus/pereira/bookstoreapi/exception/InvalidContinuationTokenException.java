@@ -0,0 +1,8 @@
+package com.jesus.pereira.bookstoreapi.exception;
+
+public class InvalidContinuationTokenException extends RuntimeException {
+
+    public InvalidContinuationTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.jesus.pereira.bookstoreapi.exception;
+
+public class InvalidSearchCriteriaException extends RuntimeException {
+
+    public InvalidSearchCriteriaException(String message) {
+        super(message);
+    }
+}
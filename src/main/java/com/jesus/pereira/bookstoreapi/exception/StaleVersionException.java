@@ -0,0 +1,8 @@
+package com.jesus.pereira.bookstoreapi.exception;
+
+public class StaleVersionException extends RuntimeException {
+
+    public StaleVersionException(String message) {
+        super(message);
+    }
+}
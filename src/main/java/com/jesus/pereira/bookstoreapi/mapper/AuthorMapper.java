@@ -3,6 +3,8 @@ package com.jesus.pereira.bookstoreapi.mapper;
 import com.jesus.pereira.bookstoreapi.domain.Author;
 import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(
         componentModel = "spring"
@@ -11,7 +13,16 @@ public interface AuthorMapper {
 
     AuthorDTO toAuthorDto(Author author);
 
+    @Mapping(target = "nameKey", ignore = true)
+    @Mapping(target = "surnameKey", ignore = true)
+    @Mapping(target = "updateDate", ignore = true)
     Author toAuthor(AuthorDTO authorDTO);
 
-    Author toAuthorUpdate(AuthorDTO authorDTO, Long id);
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "books", ignore = true)
+    @Mapping(target = "nameKey", ignore = true)
+    @Mapping(target = "surnameKey", ignore = true)
+    @Mapping(target = "updateDate", ignore = true)
+    void updateAuthor(AuthorDTO authorDTO, @MappingTarget Author author);
 }
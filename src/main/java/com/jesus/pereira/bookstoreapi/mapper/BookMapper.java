@@ -3,16 +3,31 @@ package com.jesus.pereira.bookstoreapi.mapper;
 import com.jesus.pereira.bookstoreapi.domain.Book;
 import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 
 @Mapper(
-        componentModel = "spring"
+        componentModel = "spring",
+        uses = {AuthorMapper.class, CategoryMapper.class}
 )
 public interface BookMapper {
+    @Mapping(target = "nameKey", ignore = true)
     Book toBook(BookDTO bookDTO);
 
+    @Mapping(source = "author.id", target = "authorId")
+    @Mapping(source = "category.id", target = "categoryId")
+    @Mapping(source = "author", target = "authorDTO")
+    @Mapping(source = "category", target = "categoryDTO")
     BookDTO toBookDto(Book book);
 
-    Book toBookUpdate(BookDTO bookDTO, Long id);
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "author", ignore = true)
+    @Mapping(target = "category", ignore = true)
+    @Mapping(target = "creationDate", ignore = true)
+    @Mapping(target = "nameKey", ignore = true)
+    @Mapping(target = "updateDate", ignore = true)
+    void updateBook(BookDTO bookDTO, @MappingTarget Book book);
 
 }
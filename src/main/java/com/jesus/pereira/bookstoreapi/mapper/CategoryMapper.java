@@ -3,15 +3,24 @@ package com.jesus.pereira.bookstoreapi.mapper;
 import com.jesus.pereira.bookstoreapi.domain.Category;
 import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(
         componentModel = "spring"
 )
 public interface CategoryMapper {
 
+    @Mapping(target = "nameKey", ignore = true)
+    @Mapping(target = "updateDate", ignore = true)
     Category toCategory(CategoryDTO categoryDTO);
 
     CategoryDTO toCategoryDto(Category category);
 
-    Category toCategoryUpdate(CategoryDTO categoryDTO, Long id);
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "books", ignore = true)
+    @Mapping(target = "nameKey", ignore = true)
+    @Mapping(target = "updateDate", ignore = true)
+    void updateCategory(CategoryDTO categoryDTO, @MappingTarget Category category);
 }
@@ -0,0 +1,62 @@
+package com.jesus.pereira.bookstoreapi.pagination;
+
+import com.jesus.pereira.bookstoreapi.exception.InvalidContinuationTokenException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+public final class ContinuationToken {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String INVALID_TOKEN_EXCEPTION = "Invalid continuation token %s";
+    private static final String PREFIX = "id:";
+
+    private ContinuationToken() {
+    }
+
+    public static String encode(Long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static Long decode(String token) {
+        if (token == null || token.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidContinuationTokenException(String.format(INVALID_TOKEN_EXCEPTION, token));
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidContinuationTokenException(String.format(INVALID_TOKEN_EXCEPTION, token));
+        }
+    }
+
+    public static int boundedSize(int size) {
+        if (size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    public static Pageable lookAhead(int size) {
+        return PageRequest.of(0, boundedSize(size) + 1);
+    }
+
+    public static <T> KeysetPage<T> toPage(List<T> rows, int size, Function<T, Long> idExtractor) {
+        int pageSize = boundedSize(size);
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new KeysetPage<>(content, encode(idExtractor.apply(content.get(pageSize - 1))));
+    }
+}
@@ -0,0 +1,22 @@
+package com.jesus.pereira.bookstoreapi.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private final List<T> content;
+
+    private final String nextToken;
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().map(mapper).collect(Collectors.toList());
+        return new KeysetPage<>(mapped, nextToken);
+    }
+}
@@ -0,0 +1,63 @@
+package com.jesus.pereira.bookstoreapi.pagination;
+
+import com.jesus.pereira.bookstoreapi.exception.InvalidContinuationTokenException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Continuation token for listings sorted by a column other than the id. It carries the sort it was issued
+ * for plus the sort value and id of the last row, so the next page can resume without an offset.
+ */
+public final class SortedContinuationToken {
+
+    private static final String INVALID_TOKEN_EXCEPTION = "Invalid continuation token %s";
+    private static final String PREFIX = "key:";
+    private static final char SEPARATOR = '|';
+    private static final char VALUE_MARKER = '=';
+
+    private SortedContinuationToken() {
+    }
+
+    public static String encode(String sort, Long lastId, Object lastValue) {
+        String raw = PREFIX + sort + SEPARATOR + lastId + (lastValue == null ? "" : VALUE_MARKER + lastValue.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@code null} for a missing token and rejects tokens issued for a different sort.
+     */
+    public static <T> Position<T> decode(String token, String sort, Function<String, T> valueParser) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String expected = PREFIX + sort + SEPARATOR;
+            if (!raw.startsWith(expected)) {
+                throw new InvalidContinuationTokenException(String.format(INVALID_TOKEN_EXCEPTION, token));
+            }
+            String position = raw.substring(expected.length());
+            int marker = position.indexOf(VALUE_MARKER);
+            Long lastId = Long.parseLong(marker < 0 ? position : position.substring(0, marker));
+            T lastValue = marker < 0 ? null : valueParser.apply(position.substring(marker + 1));
+            return new Position<>(lastId, lastValue);
+        } catch (InvalidContinuationTokenException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InvalidContinuationTokenException(String.format(INVALID_TOKEN_EXCEPTION, token));
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Position<T> {
+
+        private final Long lastId;
+
+        private final T lastValue;
+    }
+}
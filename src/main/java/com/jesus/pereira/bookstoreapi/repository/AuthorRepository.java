@@ -1,19 +1,48 @@
 package com.jesus.pereira.bookstoreapi.repository;
 
 import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
 
-     List<Author> findByNameContainingIgnoreCase(@Param("name") String name);
-
+     @QueryHints({
+             @QueryHint(name = HINT_CACHEABLE, value = "true"),
+             @QueryHint(name = HINT_CACHE_REGION, value = "author-by-name")
+     })
+     @Query("select a from Author a where a.nameKey = lower(:name)")
      Optional<Author> findByNameIgnoreCase(@Param("name") String name);
 
+     @QueryHints({
+             @QueryHint(name = HINT_CACHEABLE, value = "true"),
+             @QueryHint(name = HINT_CACHE_REGION, value = "author-by-name")
+     })
+     @Query("select a from Author a where a.nameKey = lower(:name) and a.surnameKey = lower(:surname)")
      Optional<Author> findByNameAndSurnameIgnoreCase(@Param("name") String name, @Param("surname") String surname);
+
+     List<Author> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+
+     @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+     @Query("select new com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO(a.id, a.name, a.surname, a.version) " +
+             "from Author a where a.id > :id order by a.id")
+     List<AuthorDTO> findAuthorViewsAfter(@Param("id") Long id, Pageable pageable);
+
+     @Query("select new com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO(a.version, a.updateDate) " +
+             "from Author a where a.id = :id")
+     Optional<VersionDTO> findVersionById(@Param("id") Long id);
 }
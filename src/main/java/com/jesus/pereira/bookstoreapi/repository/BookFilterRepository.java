@@ -0,0 +1,15 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Specification queries that need a row limit without the count query of a {@code Page}.
+ */
+public interface BookFilterRepository {
+
+    List<Book> findWithAuthorAndCategory(Specification<Book> specification, Sort sort, int limit);
+}
@@ -0,0 +1,49 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public class BookFilterRepositoryImpl implements BookFilterRepository {
+
+    private final EntityManager entityManager;
+
+    public BookFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Author and category are fetch-joined so the whole page is a single statement. Criteria literals are
+     * bound as parameters (see {@code hibernate.criteria.literal_handling_mode}), so every search with the same
+     * filter combination renders the same SQL and reuses the cached query plan.
+     */
+    @Override
+    public List<Book> findWithAuthorAndCategory(Specification<Book> specification, Sort sort, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = builder.createQuery(Book.class);
+        Root<Book> root = query.from(Book.class);
+        root.fetch("author");
+        root.fetch("category");
+
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return entityManager.createQuery(query)
+                .setHint(HINT_READONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
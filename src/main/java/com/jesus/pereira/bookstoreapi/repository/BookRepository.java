@@ -3,22 +3,121 @@ package com.jesus.pereira.bookstoreapi.repository;
 import com.jesus.pereira.bookstoreapi.domain.Author;
 import com.jesus.pereira.bookstoreapi.domain.Book;
 import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>, BookFilterRepository {
+
+    String BOOK_FIGURES_SELECT = "select new com.jesus.pereira.bookstoreapi.statistics.BookFigures(" +
+            "b.id, b.author.id, b.category.id, b.prize, b.pages, b.version) from Book b ";
+
+    @EntityGraph(attributePaths = {"author", "category"})
+    Optional<Book> findWithAuthorAndCategoryById(@Param("id") Long id);
 
-    List<Book> findByNameContainingIgnoreCase(@Param("name") String name);
+    @Query("select new com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO(" +
+            "b.version, a.version, c.version, b.creationDate, b.updateDate, a.updateDate, c.updateDate) " +
+            "from Book b join b.author a join b.category c where b.id = :id")
+    Optional<VersionDTO> findVersionById(@Param("id") Long id);
 
+    @Query("select b from Book b where b.nameKey = lower(:name)")
     Optional<Book> findByNameIgnoreCase(@Param("name") String name);
 
+    @Query("select b.nameKey from Book b where b.nameKey in :names")
+    Set<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @Query("select b from Book b where b.author.id = :authorId")
     List<Book> findByAuthorId(@Param("authorId") Long authorId);
 
+    /**
+     * Loads the book and locks its row until the transaction ends, so unconditional updates of one book run one
+     * after another instead of failing the version check at flush.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id = :id")
+    Optional<Book> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * Locks the row until the transaction ends, so concurrent writers read the figures one after another and an
+     * update in the same transaction moves the row to exactly the next version.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(BOOK_FIGURES_SELECT + "where b.id = :id")
+    Optional<BookFigures> findFiguresForUpdateById(@Param("id") Long id);
+
+    @Query("select b.id from Book b where b.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+    @Query("select b.id from Book b where b.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(BOOK_FIGURES_SELECT + "where b.id > :lastId order by b.id")
+    List<BookFigures> findFiguresAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Book b where b.id = :id")
+    int deleteBookById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Book b where b.id in :ids")
+    int deleteBooksByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from Book b where b.author.id = :authorId")
+    int deleteBooksByAuthorId(@Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("delete from Book b where b.category.id = :categoryId")
+    int deleteBooksByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("select b from Book b where b.category.id = :categoryId")
     List<Book> findByCategoryId(@Param("categoryId") Long categoryId);
 
+    List<Book> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author", "category"})
+    List<Book> findWithAuthorAndCategoryBy();
+
+    @EntityGraph(attributePaths = {"author", "category"})
+    List<Book> findWithAuthorAndCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"author", "category"})
+    @Query("select b from Book b where b.author.id = :authorId")
+    List<Book> findWithAuthorAndCategoryByAuthorId(@Param("authorId") Long authorId);
+
+    @EntityGraph(attributePaths = {"author", "category"})
+    @Query("select b from Book b where b.category.id = :categoryId")
+    List<Book> findWithAuthorAndCategoryByCategoryId(@Param("categoryId") Long categoryId);
+
+    @EntityGraph(attributePaths = {"author", "category"})
+    List<Book> findWithAuthorAndCategoryByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select b from Book b join fetch b.author join fetch b.category order by b.id")
+    Stream<Book> streamAllWithAuthorAndCategory();
+
 }
@@ -0,0 +1,49 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Book;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Book columns a search can be sorted and keyset-paginated by. Each field knows how to read its value from a
+ * book and how to parse it back from a continuation token.
+ */
+public enum BookSortField {
+
+    ID("id", Book::getId, Long::valueOf),
+    NAME("name", Book::getName, Function.identity()),
+    PRIZE("prize", Book::getPrize, BigDecimal::new),
+    PAGES("pages", Book::getPages, Integer::valueOf),
+    CREATION_DATE("creationDate", Book::getCreationDate, LocalDateTime::parse);
+
+    private final String attribute;
+    private final Function<Book, ? extends Comparable<?>> extractor;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    BookSortField(String attribute, Function<Book, ? extends Comparable<?>> extractor,
+                  Function<String, ? extends Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public static Optional<BookSortField> of(String attribute) {
+        return Arrays.stream(values()).filter(field -> field.attribute.equals(attribute)).findFirst();
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Comparable<?> valueOf(Book book) {
+        return extractor.apply(book);
+    }
+
+    public Comparable<?> parse(String value) {
+        return value == null ? null : parser.apply(value);
+    }
+}
@@ -0,0 +1,126 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFilterCriteria;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Composable filters over {@link Book}. Every factory returns {@code null} when its argument is unset, which
+ * {@link Specification#and(Specification)} skips, so a search only carries the predicates it was given.
+ */
+public final class BookSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+    private static final String ID = "id";
+
+    private BookSpecifications() {
+    }
+
+    public static Specification<Book> matching(BookFilterCriteria criteria) {
+        return Specification.where(nameContains(criteria.getName()))
+                .and(descriptionContains(criteria.getDescription()))
+                .and(prizeBetween(criteria.getMinPrize(), criteria.getMaxPrize()))
+                .and(pagesBetween(criteria.getMinPages(), criteria.getMaxPages()))
+                .and(createdBetween(criteria.getCreatedFrom(), criteria.getCreatedTo()))
+                .and(authorIn(criteria.getAuthorIds()))
+                .and(categoryIn(criteria.getCategoryIds()));
+    }
+
+    public static Specification<Book> nameContains(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return (root, query, builder) -> builder.like(root.get("nameKey"), containing(name), LIKE_ESCAPE);
+    }
+
+    public static Specification<Book> descriptionContains(String description) {
+        if (description == null || description.isBlank()) {
+            return null;
+        }
+        return (root, query, builder) -> builder.like(builder.lower(root.get("description")), containing(description), LIKE_ESCAPE);
+    }
+
+    public static Specification<Book> prizeBetween(BigDecimal min, BigDecimal max) {
+        return between("prize", min, max);
+    }
+
+    public static Specification<Book> pagesBetween(Integer min, Integer max) {
+        return between("pages", min, max);
+    }
+
+    public static Specification<Book> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return between("creationDate", from, to);
+    }
+
+    public static Specification<Book> authorIn(Collection<Long> authorIds) {
+        if (authorIds == null || authorIds.isEmpty()) {
+            return null;
+        }
+        return (root, query, builder) -> root.get("author").get(ID).in(authorIds);
+    }
+
+    public static Specification<Book> categoryIn(Collection<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return null;
+        }
+        return (root, query, builder) -> root.get("category").get(ID).in(categoryIds);
+    }
+
+    public static Sort orderBy(BookSortField field, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, field.getAttribute());
+        return field == BookSortField.ID ? sort : sort.and(Sort.by(Sort.Direction.ASC, ID));
+    }
+
+    /**
+     * Rows after the keyset position {@code (lastValue, lastId)} in {@link #orderBy} order. Nulls sort as the
+     * lowest value, as they do in H2.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Book> after(BookSortField field, Sort.Direction direction, Comparable lastValue, Long lastId) {
+        return (root, query, builder) -> {
+            Path<Long> id = root.get(ID);
+            if (field == BookSortField.ID) {
+                return direction.isAscending() ? builder.greaterThan(id, lastId) : builder.lessThan(id, lastId);
+            }
+            Path<Comparable> column = root.get(field.getAttribute());
+            if (lastValue == null) {
+                return direction.isAscending()
+                        ? builder.or(builder.isNotNull(column), builder.greaterThan(id, lastId))
+                        : builder.and(builder.isNull(column), builder.greaterThan(id, lastId));
+            }
+            Predicate tie = builder.and(builder.equal(column, lastValue), builder.greaterThan(id, lastId));
+            return direction.isAscending()
+                    ? builder.or(builder.greaterThan(column, lastValue), tie)
+                    : builder.or(builder.lessThan(column, lastValue), tie, builder.isNull(column));
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Book> between(String attribute, T min, T max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, builder) -> {
+            Path<T> column = root.get(attribute);
+            if (min == null) {
+                return builder.lessThanOrEqualTo(column, max);
+            }
+            return max == null ? builder.greaterThanOrEqualTo(column, min) : builder.between(column, min, max);
+        };
+    }
+
+    private static String containing(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,103 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.BookView;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+
+@Repository
+public interface BookViewRepository extends JpaRepository<BookView, Long> {
+
+    String BOOK_VIEW_SELECT = "select new com.jesus.pereira.bookstoreapi.resource.dto.BookDTO(" +
+            "v.id, v.name, v.description, v.prize, v.pages, v.version, " +
+            "v.authorId, v.authorName, v.authorSurname, v.authorVersion, " +
+            "v.categoryId, v.categoryName, v.categoryDescription, v.categoryVersion) " +
+            "from BookView v ";
+
+    String INSERT_FROM_BOOKS = "insert into BookView (id, name, description, prize, pages, version, " +
+            "authorId, authorName, authorSurname, authorVersion, " +
+            "categoryId, categoryName, categoryDescription, categoryVersion) " +
+            "select b.id, b.name, b.description, b.prize, b.pages, b.version, " +
+            "a.id, a.name, a.surname, a.version, c.id, c.name, c.description, c.version " +
+            "from Book b join b.author a join b.category c ";
+
+    /**
+     * H2 upsert keyed on the primary key, so two transactions refreshing the same book cannot both insert it, as a
+     * delete followed by an insert could.
+     */
+    String MERGE_FROM_BOOKS = "merge into book_view (id, name, description, prize, pages, version, " +
+            "author_id, author_name, author_surname, author_version, " +
+            "category_id, category_name, category_description, category_version) key (id) " +
+            "select b.id, b.name, b.description, b.prize, b.pages, b.version, " +
+            "a.id, a.name, a.surname, a.version, c.id, c.name, c.description, c.version " +
+            "from book b join author a on a.id = b.author_id join category c on c.id = b.category_id ";
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(BOOK_VIEW_SELECT + "where v.id > :id order by v.id")
+    List<BookDTO> findBookViewsAfter(@Param("id") Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(BOOK_VIEW_SELECT + "where v.id in :ids order by v.id")
+    List<BookDTO> findBookViewsByIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(BOOK_VIEW_SELECT + "where v.authorId = :authorId order by v.id")
+    List<BookDTO> findBookViewsByAuthorId(@Param("authorId") Long authorId);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(BOOK_VIEW_SELECT + "where v.categoryId = :categoryId order by v.id")
+    List<BookDTO> findBookViewsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = MERGE_FROM_BOOKS + "where b.id in :ids", nativeQuery = true)
+    int refreshBooks(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = MERGE_FROM_BOOKS + "where b.author_id = :authorId", nativeQuery = true)
+    int refreshAuthor(@Param("authorId") Long authorId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = MERGE_FROM_BOOKS + "where b.category_id = :categoryId", nativeQuery = true)
+    int refreshCategory(@Param("categoryId") Long categoryId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(INSERT_FROM_BOOKS)
+    int insertAllViews();
+
+    @Modifying
+    @Query("delete from BookView v where v.id in :ids")
+    int deleteViewsByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from BookView v where v.authorId = :authorId")
+    int deleteViewsByAuthorId(@Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("delete from BookView v where v.categoryId = :categoryId")
+    int deleteViewsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("delete from BookView v")
+    int deleteAllViews();
+
+    @Transactional
+    default int rebuild() {
+        deleteAllViews();
+        return insertAllViews();
+    }
+}
@@ -1,19 +1,42 @@
 package com.jesus.pereira.bookstoreapi.repository;
 
 import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
-    List<Category> findByNameContainingIgnoreCase(@Param("name") String name);
-
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "category-by-name")
+    })
+    @Query("select c from Category c where c.nameKey = lower(:name)")
     Optional<Category> findByNameIgnoreCase(@Param("name") String name);
 
+    List<Category> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO(c.id, c.name, c.description, c.version) " +
+            "from Category c where c.id > :id order by c.id")
+    List<CategoryDTO> findCategoryViewsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO(c.version, c.updateDate) " +
+            "from Category c where c.id = :id")
+    Optional<VersionDTO> findVersionById(@Param("id") Long id);
 
 }
@@ -0,0 +1,50 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.Map;
+
+@Repository
+@Timed(value = MetricsConfiguration.REPOSITORY_TIMER, histogram = true)
+public class PartialUpdateRepository {
+
+    private static final String ID = "id";
+    private static final String VERSION = "version";
+
+    private final EntityManager entityManager;
+
+    public PartialUpdateRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public <T> int update(Class<T> entityType, Long id, Long expectedVersion, Map<String, Object> changes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = builder.createCriteriaUpdate(entityType);
+        Root<T> root = update.from(entityType);
+
+        changes.forEach(update::set);
+        update.set(root.<Long>get(VERSION), builder.sum(root.<Long>get(VERSION), 1L));
+
+        Predicate matchesId = builder.equal(root.get(ID), id);
+        update.where(expectedVersion == null
+                ? matchesId
+                : builder.and(matchesId, builder.equal(root.get(VERSION), expectedVersion)));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    /**
+     * An uninitialized reference for setting a foreign key column without loading the referenced row; a missing
+     * row surfaces as a foreign key violation of the update.
+     */
+    public <T> T reference(Class<T> entityType, Long id) {
+        return entityManager.getReference(entityType, id);
+    }
+}
@@ -0,0 +1,31 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public class ReactiveAuthorRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveAuthorRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<AuthorDTO> findAllAuthorViews() {
+        return databaseClient.sql("select a.id, a.name, a.surname, a.version from author a order by a.id")
+                .map(ReactiveAuthorRepository::toAuthorView)
+                .all();
+    }
+
+    private static AuthorDTO toAuthorView(Row row) {
+        return new AuthorDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("surname", String.class),
+                row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,62 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+@Repository
+public class ReactiveBookRepository {
+
+    private static final String BOOK_VIEW_SELECT = "select id, name, description, prize, pages, version, " +
+            "author_id, author_name, author_surname, author_version, " +
+            "category_id, category_name, category_description, category_version " +
+            "from book_view ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveBookRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<BookDTO> findAllBookViews() {
+        return databaseClient.sql(BOOK_VIEW_SELECT + "order by id")
+                .map(ReactiveBookRepository::toBookView)
+                .all();
+    }
+
+    public Flux<BookDTO> findBookViewsByAuthorId(Long authorId) {
+        return databaseClient.sql(BOOK_VIEW_SELECT + "where author_id = :authorId order by id")
+                .bind("authorId", authorId)
+                .map(ReactiveBookRepository::toBookView)
+                .all();
+    }
+
+    public Flux<BookDTO> findBookViewsByCategoryId(Long categoryId) {
+        return databaseClient.sql(BOOK_VIEW_SELECT + "where category_id = :categoryId order by id")
+                .bind("categoryId", categoryId)
+                .map(ReactiveBookRepository::toBookView)
+                .all();
+    }
+
+    private static BookDTO toBookView(Row row) {
+        return new BookDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("prize", BigDecimal.class),
+                row.get("pages", Integer.class),
+                row.get("version", Long.class),
+                row.get("author_id", Long.class),
+                row.get("author_name", String.class),
+                row.get("author_surname", String.class),
+                row.get("author_version", Long.class),
+                row.get("category_id", Long.class),
+                row.get("category_name", String.class),
+                row.get("category_description", String.class),
+                row.get("category_version", Long.class));
+    }
+}
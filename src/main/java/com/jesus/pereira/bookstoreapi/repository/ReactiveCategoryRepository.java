@@ -0,0 +1,31 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public class ReactiveCategoryRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCategoryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<CategoryDTO> findAllCategoryViews() {
+        return databaseClient.sql("select c.id, c.name, c.description, c.version from category c order by c.id")
+                .map(ReactiveCategoryRepository::toCategoryView)
+                .all();
+    }
+
+    private static CategoryDTO toCategoryView(Row row) {
+        return new CategoryDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("version", Long.class));
+    }
+}
@@ -1,4 +1,123 @@
 package com.jesus.pereira.bookstoreapi.resource;
 
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.mapper.AuthorMapper;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookStatisticsDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkGetResultDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorPatchDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import com.jesus.pereira.bookstoreapi.service.AuthorService;
+import com.jesus.pereira.bookstoreapi.service.CatalogStreamService;
+import com.jesus.pereira.bookstoreapi.service.StatisticsService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/authors")
 public class AuthorController {
+
+    private final AuthorService authorService;
+    private final AuthorMapper authorMapper;
+    private final RequestExecutor requestExecutor;
+    private final CatalogStreamService catalogStreamService;
+    private final StatisticsService statisticsService;
+
+    public AuthorController(AuthorService authorService, AuthorMapper authorMapper,
+                            RequestExecutor requestExecutor, CatalogStreamService catalogStreamService,
+                            StatisticsService statisticsService) {
+        this.authorService = authorService;
+        this.authorMapper = authorMapper;
+        this.requestExecutor = requestExecutor;
+        this.catalogStreamService = catalogStreamService;
+        this.statisticsService = statisticsService;
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<KeysetPage<AuthorDTO>>> findAllAuthors(
+            @RequestParam(required = false) String continuationToken,
+            @RequestParam(defaultValue = "" + ContinuationToken.DEFAULT_PAGE_SIZE) int size) {
+        return requestExecutor.supply(() -> ResponseEntity.ok(authorService.findAllAuthorViews(continuationToken, size)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AuthorDTO> findAuthorById(@PathVariable Long id, WebRequest request) {
+        VersionDTO current = authorService.findAuthorVersion(id);
+        if (request.checkNotModified(current.getTag(), current.lastModifiedMillis())) {
+            return null;
+        }
+        Author author = authorService.findAuthorById(id);
+        return EntityTags.ok(VersionDTO.of(author)).body(authorMapper.toAuthorDto(author));
+    }
+
+    @GetMapping("/bulk")
+    public CompletableFuture<ResponseEntity<BulkGetResultDTO<AuthorDTO>>> findAuthorsByIds(@RequestParam List<Long> ids) {
+        return requestExecutor.supply(() -> ResponseEntity.ok(BulkGet.result(ids,
+                authorService.findAuthorsByIds(ids), Author::getId, authorMapper::toAuthorDto)));
+    }
+
+    @GetMapping("/{id}/statistics")
+    public ResponseEntity<BookStatisticsDTO> findAuthorStatistics(@PathVariable Long id) {
+        return ResponseEntity.ok(statisticsService.findAuthorStatistics(id));
+    }
+
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<List<AuthorDTO>>> searchAuthors(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return requestExecutor.supply(() -> {
+            List<AuthorDTO> authors = authorService.searchAuthors(query, ContinuationToken.boundedSize(limit)).stream()
+                    .map(authorMapper::toAuthorDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(authors);
+        });
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AuthorDTO> streamAuthors() {
+        return catalogStreamService.streamAuthors();
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<AuthorDTO> updateAuthor(
+            @PathVariable Long id,
+            @RequestBody AuthorDTO authorRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Author author = authorService.updateAuthor(authorRequest, id, IfMatch.version(ifMatch));
+        return EntityTags.ok(VersionDTO.of(author)).body(authorMapper.toAuthorDto(author));
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchAuthor(
+            @PathVariable Long id,
+            @RequestBody AuthorPatchDTO changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        authorService.patchAuthor(id, changes, IfMatch.version(ifMatch));
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAuthor(@PathVariable Long id) {
+        authorService.deleteAuthor(id);
+        return ResponseEntity.noContent().build();
+    }
 }
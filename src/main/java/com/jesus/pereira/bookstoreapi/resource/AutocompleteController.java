@@ -0,0 +1,28 @@
+package com.jesus.pereira.bookstoreapi.resource;
+
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.resource.dto.SuggestionsDTO;
+import com.jesus.pereira.bookstoreapi.service.AutocompleteService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/autocomplete")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    public AutocompleteController(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    @GetMapping
+    public ResponseEntity<SuggestionsDTO> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(prefix, ContinuationToken.boundedSize(limit)));
+    }
+}
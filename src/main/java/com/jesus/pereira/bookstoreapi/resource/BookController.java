@@ -1,4 +1,191 @@
 package com.jesus.pereira.bookstoreapi.resource;
 
+import com.jesus.pereira.bookstoreapi.cache.BookResponseCache;
+import com.jesus.pereira.bookstoreapi.cache.CachedResponse;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookPatchDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkGetResultDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkResultDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.DeleteResultDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import com.jesus.pereira.bookstoreapi.service.BookBulkService;
+import com.jesus.pereira.bookstoreapi.service.BookExportService;
+import com.jesus.pereira.bookstoreapi.service.BookFetch;
+import com.jesus.pereira.bookstoreapi.service.BookService;
+import com.jesus.pereira.bookstoreapi.service.CatalogStreamService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/books")
 public class BookController {
+
+    private final BookService bookService;
+    private final BookMapper bookMapper;
+    private final BookExportService bookExportService;
+    private final BookBulkService bookBulkService;
+    private final RequestExecutor requestExecutor;
+    private final CatalogStreamService catalogStreamService;
+    private final BookResponseCache bookResponseCache;
+
+    public BookController(BookService bookService, BookMapper bookMapper, BookExportService bookExportService,
+                          BookBulkService bookBulkService, RequestExecutor requestExecutor,
+                          CatalogStreamService catalogStreamService, BookResponseCache bookResponseCache) {
+        this.bookService = bookService;
+        this.bookMapper = bookMapper;
+        this.bookExportService = bookExportService;
+        this.bookBulkService = bookBulkService;
+        this.requestExecutor = requestExecutor;
+        this.catalogStreamService = catalogStreamService;
+        this.bookResponseCache = bookResponseCache;
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<KeysetPage<BookDTO>>> findAllBooks(
+            @RequestParam(required = false) String continuationToken,
+            @RequestParam(defaultValue = "" + ContinuationToken.DEFAULT_PAGE_SIZE) int size) {
+        return requestExecutor.supply(() -> ResponseEntity.ok(bookService.findAllBookViews(continuationToken, size)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<byte[]> findBookById(@PathVariable Long id, WebRequest request) {
+        CachedResponse response = bookResponseCache.get(BookResponseCache.bookKey(id)).orElse(null);
+        if (response == null) {
+            VersionDTO current = bookService.findBookVersion(id);
+            if (request.checkNotModified(current.getTag(), current.lastModifiedMillis())) {
+                return null;
+            }
+            response = bookResponseCache.loadBook(id, () -> bookService.findBookById(id, BookFetch.WITH_AUTHOR_AND_CATEGORY));
+        } else if (request.checkNotModified(response.getETag(), response.getLastModified())) {
+            return null;
+        }
+        return EntityTags.ok(response);
+    }
+
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<List<BookDTO>>> searchBooks(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return requestExecutor.supply(() -> ResponseEntity.ok(toBookDtos(
+                bookService.searchBooks(query, ContinuationToken.boundedSize(limit), BookFetch.WITH_AUTHOR_AND_CATEGORY))));
+    }
+
+    @GetMapping("/author/{authorId}")
+    public CompletableFuture<ResponseEntity<byte[]>> findBooksByAuthorId(@PathVariable Long authorId) {
+        return cachedBooks(BookResponseCache.booksByAuthorKey(authorId), () -> bookService.findBookViewsByAuthorId(authorId));
+    }
+
+    @GetMapping("/category/{categoryId}")
+    public CompletableFuture<ResponseEntity<byte[]>> findBooksByCategoryId(@PathVariable Long categoryId) {
+        return cachedBooks(BookResponseCache.booksByCategoryKey(categoryId), () -> bookService.findBookViewsByCategoryId(categoryId));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        StreamingResponseBody body = bookExportService::exportBooks;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDTO> streamBooks() {
+        return catalogStreamService.streamBooks();
+    }
+
+    @GetMapping(value = "/author/{authorId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDTO> streamBooksByAuthorId(@PathVariable Long authorId) {
+        return catalogStreamService.streamBooksByAuthorId(authorId);
+    }
+
+    @GetMapping(value = "/category/{categoryId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDTO> streamBooksByCategoryId(@PathVariable Long categoryId) {
+        return catalogStreamService.streamBooksByCategoryId(categoryId);
+    }
+
+    @GetMapping("/bulk")
+    public CompletableFuture<ResponseEntity<BulkGetResultDTO<BookDTO>>> findBooksByIds(@RequestParam List<Long> ids) {
+        return requestExecutor.supply(() -> ResponseEntity.ok(BulkGet.result(ids,
+                bookService.findBooksByIds(ids, BookFetch.WITH_AUTHOR_AND_CATEGORY), Book::getId, bookMapper::toBookDto)));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultDTO> createBooks(@RequestBody List<BookDTO> bookRequests) {
+        return ResponseEntity.ok(bookBulkService.createBooks(bookRequests));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<BookDTO> updateBook(
+            @PathVariable Long id,
+            @RequestBody BookDTO bookRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Book book = bookService.updateBook(bookRequest, id, IfMatch.version(ifMatch));
+        return EntityTags.ok(VersionDTO.of(book)).body(bookMapper.toBookDto(book));
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchBook(
+            @PathVariable Long id,
+            @RequestBody BookPatchDTO changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        bookService.patchBook(id, changes, IfMatch.version(ifMatch));
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
+        bookService.deleteBook(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<DeleteResultDTO> deleteBooks(@RequestBody List<Long> bookIds) {
+        return ResponseEntity.ok(new DeleteResultDTO(bookIds.size(), bookService.deleteBooks(bookIds)));
+    }
+
+    @DeleteMapping("/author/{authorId}")
+    public ResponseEntity<DeleteResultDTO> deleteBooksByAuthorId(@PathVariable Long authorId) {
+        int deleted = bookService.deleteBooksByAuthorId(authorId);
+        return ResponseEntity.ok(new DeleteResultDTO(deleted, deleted));
+    }
+
+    @DeleteMapping("/category/{categoryId}")
+    public ResponseEntity<DeleteResultDTO> deleteBooksByCategoryId(@PathVariable Long categoryId) {
+        int deleted = bookService.deleteBooksByCategoryId(categoryId);
+        return ResponseEntity.ok(new DeleteResultDTO(deleted, deleted));
+    }
+
+    private CompletableFuture<ResponseEntity<byte[]>> cachedBooks(String key, Supplier<List<BookDTO>> loader) {
+        return bookResponseCache.get(key)
+                .map(response -> CompletableFuture.completedFuture(EntityTags.ok(response)))
+                .orElseGet(() -> requestExecutor.supply(() -> EntityTags.ok(bookResponseCache.loadBooks(key, loader))));
+    }
+
+    private List<BookDTO> toBookDtos(List<Book> books) {
+        return books.stream().map(bookMapper::toBookDto).collect(Collectors.toList());
+    }
 }
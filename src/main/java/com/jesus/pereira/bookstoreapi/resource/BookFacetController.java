@@ -0,0 +1,50 @@
+package com.jesus.pereira.bookstoreapi.resource;
+
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFacetsDTO;
+import com.jesus.pereira.bookstoreapi.search.BookFacetQuery;
+import com.jesus.pereira.bookstoreapi.service.BookFacetService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/books/facets")
+public class BookFacetController {
+
+    private final BookFacetService bookFacetService;
+
+    public BookFacetController(BookFacetService bookFacetService) {
+        this.bookFacetService = bookFacetService;
+    }
+
+    @GetMapping
+    public ResponseEntity<BookFacetsDTO> findBooks(
+            @RequestParam(required = false) BigDecimal minPrize,
+            @RequestParam(required = false) BigDecimal maxPrize,
+            @RequestParam(required = false) Integer minPages,
+            @RequestParam(required = false) Integer maxPages,
+            @RequestParam(name = "authorId", defaultValue = "") Set<Long> authorIds,
+            @RequestParam(name = "categoryId", defaultValue = "") Set<Long> categoryIds,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "" + BookFacetQuery.DEFAULT_FACET_LIMIT) int facetLimit,
+            @RequestParam(required = false) String continuationToken,
+            @RequestParam(defaultValue = "" + ContinuationToken.DEFAULT_PAGE_SIZE) int size) {
+        BookFacetQuery query = BookFacetQuery.builder()
+                .minPrize(minPrize)
+                .maxPrize(maxPrize)
+                .minPages(minPages)
+                .maxPages(maxPages)
+                .authorIds(authorIds)
+                .categoryIds(categoryIds)
+                .name(name)
+                .facetLimit(facetLimit)
+                .build();
+        return ResponseEntity.ok(bookFacetService.findBooks(query, continuationToken, size));
+    }
+}
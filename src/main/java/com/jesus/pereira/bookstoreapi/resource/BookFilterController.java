@@ -0,0 +1,31 @@
+package com.jesus.pereira.bookstoreapi.resource;
+
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFilterCriteria;
+import com.jesus.pereira.bookstoreapi.service.BookFilterService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/books/filter")
+public class BookFilterController {
+
+    private final BookFilterService bookFilterService;
+
+    public BookFilterController(BookFilterService bookFilterService) {
+        this.bookFilterService = bookFilterService;
+    }
+
+    @GetMapping
+    public ResponseEntity<KeysetPage<BookDTO>> filterBooks(
+            BookFilterCriteria criteria,
+            @RequestParam(required = false) String continuationToken,
+            @RequestParam(defaultValue = "" + ContinuationToken.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(bookFilterService.filterBooks(criteria, continuationToken, size));
+    }
+}
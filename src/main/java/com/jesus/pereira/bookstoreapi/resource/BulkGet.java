@@ -0,0 +1,30 @@
+package com.jesus.pereira.bookstoreapi.resource;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkGetResultDTO;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class BulkGet {
+
+    private BulkGet() {
+    }
+
+    /**
+     * Maps entities already in request order and lists the requested ids that were not found, also in
+     * request order.
+     */
+    static <E, D> BulkGetResultDTO<D> result(Collection<Long> ids, List<E> found, Function<E, Long> idExtractor,
+                                             Function<E, D> mapper) {
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        found.forEach(entity -> missing.remove(idExtractor.apply(entity)));
+        return BulkGetResultDTO.<D>builder()
+                .found(found.stream().map(mapper).collect(Collectors.toList()))
+                .missing(List.copyOf(missing))
+                .build();
+    }
+}
@@ -1,15 +1,123 @@
 package com.jesus.pereira.bookstoreapi.resource;
 
-import com.sun.istack.NotNull;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import javax.persistence.*;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.mapper.CategoryMapper;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookStatisticsDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkGetResultDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryPatchDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import com.jesus.pereira.bookstoreapi.service.CatalogStreamService;
+import com.jesus.pereira.bookstoreapi.service.StatisticsService;
+import com.jesus.pereira.bookstoreapi.service.CategoryService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
+@RestController
+@RequestMapping("/categories")
 public class CategoryController {
 
+    private final CategoryService categoryService;
+    private final CategoryMapper categoryMapper;
+    private final RequestExecutor requestExecutor;
+    private final CatalogStreamService catalogStreamService;
+    private final StatisticsService statisticsService;
+
+    public CategoryController(CategoryService categoryService, CategoryMapper categoryMapper,
+                              RequestExecutor requestExecutor, CatalogStreamService catalogStreamService,
+                              StatisticsService statisticsService) {
+        this.categoryService = categoryService;
+        this.categoryMapper = categoryMapper;
+        this.requestExecutor = requestExecutor;
+        this.catalogStreamService = catalogStreamService;
+        this.statisticsService = statisticsService;
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<KeysetPage<CategoryDTO>>> findAllCategories(
+            @RequestParam(required = false) String continuationToken,
+            @RequestParam(defaultValue = "" + ContinuationToken.DEFAULT_PAGE_SIZE) int size) {
+        return requestExecutor.supply(() -> ResponseEntity.ok(categoryService.findAllCategoryViews(continuationToken, size)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CategoryDTO> findCategoryById(@PathVariable Long id, WebRequest request) {
+        VersionDTO current = categoryService.findCategoryVersion(id);
+        if (request.checkNotModified(current.getTag(), current.lastModifiedMillis())) {
+            return null;
+        }
+        Category category = categoryService.findCategoryById(id);
+        return EntityTags.ok(VersionDTO.of(category)).body(categoryMapper.toCategoryDto(category));
+    }
+
+    @GetMapping("/bulk")
+    public CompletableFuture<ResponseEntity<BulkGetResultDTO<CategoryDTO>>> findCategoriesByIds(@RequestParam List<Long> ids) {
+        return requestExecutor.supply(() -> ResponseEntity.ok(BulkGet.result(ids,
+                categoryService.findCategoriesByIds(ids), Category::getId, categoryMapper::toCategoryDto)));
+    }
+
+    @GetMapping("/{id}/statistics")
+    public ResponseEntity<BookStatisticsDTO> findCategoryStatistics(@PathVariable Long id) {
+        return ResponseEntity.ok(statisticsService.findCategoryStatistics(id));
+    }
+
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<List<CategoryDTO>>> searchCategories(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return requestExecutor.supply(() -> {
+            List<CategoryDTO> categories = categoryService.searchCategories(query, ContinuationToken.boundedSize(limit)).stream()
+                    .map(categoryMapper::toCategoryDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(categories);
+        });
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CategoryDTO> streamCategories() {
+        return catalogStreamService.streamCategories();
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<CategoryDTO> updateCategory(
+            @PathVariable Long id,
+            @RequestBody CategoryDTO categoryRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Category category = categoryService.updateCategory(categoryRequest, id, IfMatch.version(ifMatch));
+        return EntityTags.ok(VersionDTO.of(category)).body(categoryMapper.toCategoryDto(category));
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchCategory(
+            @PathVariable Long id,
+            @RequestBody CategoryPatchDTO changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        categoryService.patchCategory(id, changes, IfMatch.version(ifMatch));
+        return ResponseEntity.noContent().build();
+    }
 
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
+        categoryService.deleteCategory(id);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,28 @@
+package com.jesus.pereira.bookstoreapi.resource;
+
+import com.jesus.pereira.bookstoreapi.cache.CachedResponse;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static ResponseEntity.BodyBuilder ok(VersionDTO version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(version.getTag());
+        return version.getLastModified() == null ? builder : builder.lastModified(version.lastModifiedMillis());
+    }
+
+    static ResponseEntity<byte[]> ok(CachedResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (response.getETag() != null) {
+            builder.eTag(response.getETag());
+        }
+        if (response.getLastModified() != CachedResponse.NO_LAST_MODIFIED) {
+            builder.lastModified(response.getLastModified());
+        }
+        return builder.body(response.getBody());
+    }
+}
@@ -0,0 +1,33 @@
+package com.jesus.pereira.bookstoreapi.resource;
+
+import com.jesus.pereira.bookstoreapi.exception.StaleVersionException;
+
+final class IfMatch {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String TAG_SEPARATOR = ".";
+    private static final String UNKNOWN_VERSION_EXCEPTION = "If-Match %s does not match any version";
+
+    private IfMatch() {
+    }
+
+    static Long version(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith(WEAK_PREFIX)) {
+            tag = tag.substring(WEAK_PREFIX.length());
+        }
+        tag = tag.replace("\"", "");
+        if (tag.contains(TAG_SEPARATOR)) {
+            tag = tag.substring(0, tag.indexOf(TAG_SEPARATOR));
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new StaleVersionException(String.format(UNKNOWN_VERSION_EXCEPTION, ifMatch));
+        }
+    }
+}
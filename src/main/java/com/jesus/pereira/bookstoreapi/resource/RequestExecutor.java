@@ -0,0 +1,27 @@
+package com.jesus.pereira.bookstoreapi.resource;
+
+import com.jesus.pereira.bookstoreapi.config.RequestExecutionConfiguration;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+@Component
+public class RequestExecutor {
+
+    private final Executor executor;
+
+    public RequestExecutor(@Qualifier(RequestExecutionConfiguration.REQUEST_TASK_EXECUTOR) Optional<Executor> executor) {
+        this.executor = executor.orElse(null);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> work) {
+        if (executor == null) {
+            return CompletableFuture.completedFuture(work.get());
+        }
+        return CompletableFuture.supplyAsync(work, executor);
+    }
+}
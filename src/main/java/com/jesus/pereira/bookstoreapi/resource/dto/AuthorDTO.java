@@ -1,6 +1,7 @@
 package com.jesus.pereira.bookstoreapi.resource.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.sun.istack.NotNull;
 import lombok.*;
 
@@ -22,5 +23,8 @@ public class AuthorDTO {
 
     @Size(min = 1, max = 45)
     private String surname;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
     
 }
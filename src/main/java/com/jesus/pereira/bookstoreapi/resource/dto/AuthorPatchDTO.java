@@ -0,0 +1,19 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.Size;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorPatchDTO {
+
+    @Size(min = 1, max = 45)
+    private String name;
+
+    @Size(min = 1, max = 45)
+    private String surname;
+}
@@ -44,4 +44,16 @@ public class BookDTO {
 
     @JsonProperty(access = JsonProperty.Access.READ_ONLY, namespace = "category")
     private CategoryDTO categoryDTO;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    public BookDTO(Long id, String name, String description, BigDecimal prize, int pages, Long version,
+                   Long authorId, String authorName, String authorSurname, Long authorVersion,
+                   Long categoryId, String categoryName, String categoryDescription, Long categoryVersion) {
+        this(id, name, description, prize, pages, authorId, categoryId,
+                new AuthorDTO(authorId, authorName, authorSurname, authorVersion),
+                new CategoryDTO(categoryId, categoryName, categoryDescription, categoryVersion),
+                version);
+    }
 }
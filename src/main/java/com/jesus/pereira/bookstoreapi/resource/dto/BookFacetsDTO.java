@@ -0,0 +1,29 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookFacetsDTO {
+
+    private int total;
+
+    private List<BookDTO> content;
+
+    private String nextToken;
+
+    private Map<Long, Integer> authors;
+
+    private Map<Long, Integer> categories;
+
+    private Map<BigDecimal, Integer> prizeRanges;
+
+    private Map<Integer, Integer> pageRanges;
+}
@@ -0,0 +1,42 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookFilterCriteria {
+
+    private String name;
+
+    private String description;
+
+    private BigDecimal minPrize;
+
+    private BigDecimal maxPrize;
+
+    private Integer minPages;
+
+    private Integer maxPages;
+
+    private Set<Long> authorIds;
+
+    private Set<Long> categoryIds;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    private String sort;
+
+    private String direction;
+}
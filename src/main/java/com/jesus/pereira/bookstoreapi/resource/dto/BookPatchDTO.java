@@ -0,0 +1,31 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.Size;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookPatchDTO {
+
+    @Size(min = 1, max = 45)
+    private String name;
+
+    @Size(min = 1, max = 100)
+    private String description;
+
+    @Digits(integer = 5, fraction = 2)
+    private BigDecimal prize;
+
+    @Digits(integer = 4, fraction = 0)
+    private Integer pages;
+
+    private Long authorId;
+
+    private Long categoryId;
+}
@@ -0,0 +1,23 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookStatisticsDTO {
+
+    private long bookCount;
+
+    private BigDecimal minPrize;
+
+    private BigDecimal maxPrize;
+
+    private BigDecimal averagePrize;
+
+    private long totalPages;
+}
@@ -0,0 +1,17 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkGetResultDTO<T> {
+
+    private List<T> found;
+
+    private List<Long> missing;
+}
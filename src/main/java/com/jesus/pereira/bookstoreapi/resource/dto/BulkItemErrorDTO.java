@@ -0,0 +1,17 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemErrorDTO {
+
+    private int index;
+
+    private String name;
+
+    private String error;
+}
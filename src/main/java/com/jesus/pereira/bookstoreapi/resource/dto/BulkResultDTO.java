@@ -0,0 +1,19 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResultDTO {
+
+    private int received;
+
+    private int created;
+
+    private List<BulkItemErrorDTO> errors;
+}
@@ -2,6 +2,7 @@ package com.jesus.pereira.bookstoreapi.resource.dto;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.sun.istack.NotNull;
 import lombok.*;
 
@@ -23,4 +24,7 @@ public class CategoryDTO {
 
     @Size(min = 1, max = 100)
     private String description;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
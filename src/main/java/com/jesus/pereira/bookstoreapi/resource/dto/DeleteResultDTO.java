@@ -0,0 +1,15 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeleteResultDTO {
+
+    private int received;
+
+    private int deleted;
+}
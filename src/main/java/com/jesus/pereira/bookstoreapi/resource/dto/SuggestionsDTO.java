@@ -0,0 +1,19 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionsDTO {
+
+    private List<String> books;
+
+    private List<String> authors;
+
+    private List<String> categories;
+}
@@ -0,0 +1,54 @@
+package com.jesus.pereira.bookstoreapi.resource.dto;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Getter
+public class VersionDTO {
+
+    private static final String TAG_SEPARATOR = ".";
+
+    private final String tag;
+
+    private final LocalDateTime lastModified;
+
+    public VersionDTO(Long version, LocalDateTime lastModified) {
+        this.tag = String.valueOf(version);
+        this.lastModified = lastModified;
+    }
+
+    public VersionDTO(Long version, Long authorVersion, Long categoryVersion,
+                      LocalDateTime creationDate, LocalDateTime updateDate,
+                      LocalDateTime authorUpdateDate, LocalDateTime categoryUpdateDate) {
+        this.tag = version + TAG_SEPARATOR + authorVersion + TAG_SEPARATOR + categoryVersion;
+        this.lastModified = Stream.of(creationDate, updateDate, authorUpdateDate, categoryUpdateDate)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    public static VersionDTO of(Book book) {
+        return new VersionDTO(book.getVersion(), book.getAuthor().getVersion(), book.getCategory().getVersion(),
+                book.getCreationDate(), book.getUpdateDate(),
+                book.getAuthor().getUpdateDate(), book.getCategory().getUpdateDate());
+    }
+
+    public static VersionDTO of(Author author) {
+        return new VersionDTO(author.getVersion(), author.getUpdateDate());
+    }
+
+    public static VersionDTO of(Category category) {
+        return new VersionDTO(category.getVersion(), category.getUpdateDate());
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,23 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuthorSearchIndex extends SearchIndex<Author> {
+
+    @Override
+    protected Long idOf(Author author) {
+        return author.getId();
+    }
+
+    @Override
+    protected String[] fieldsOf(Author author) {
+        return new String[]{author.getName(), author.getSurname()};
+    }
+
+    @Override
+    protected String suggestionOf(Author author) {
+        return author.getSurname() == null ? author.getName() : author.getName() + " " + author.getSurname();
+    }
+}
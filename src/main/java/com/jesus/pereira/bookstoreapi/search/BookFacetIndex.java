@@ -0,0 +1,381 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import com.jesus.pereira.bookstoreapi.statistics.BookChangeFilter;
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory bitmap index of book ids per author, category, prize range and page range. Every book gets a
+ * dense int slot so the id sets fit in roaring bitmaps; filters are bitmap intersections and facet counts
+ * are intersection cardinalities, so a query never touches the database. Changes are reported after commit and
+ * only applied when newer than the indexed figures, see {@link BookChangeFilter}.
+ */
+@Component
+public class BookFacetIndex {
+
+    public static final BigDecimal PRIZE_RANGE_WIDTH = BigDecimal.TEN;
+    public static final int PAGE_RANGE_WIDTH = 100;
+
+    private static final int INITIAL_SLOTS = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BookChangeFilter changes = new BookChangeFilter();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final RoaringBitmap freeSlots = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> byAuthor = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private final NavigableMap<Long, RoaringBitmap> byPrizeRange = new TreeMap<>();
+    private final NavigableMap<Integer, RoaringBitmap> byPageRange = new TreeMap<>();
+
+    private BookFigures[] books = new BookFigures[INITIAL_SLOTS];
+    private int nextSlot;
+
+    public void index(BookFigures book) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(book.getId());
+            if (!changes.acceptSave(book, slot != null ? books[slot] : null)) {
+                return;
+            }
+            if (slot != null) {
+                unlink(slot);
+            } else {
+                slot = allocate();
+                slotsById.put(book.getId(), slot);
+            }
+            link(slot, book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<BookFigures> books) {
+        books.forEach(this::index);
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = changes.acceptRemoval(id) ? slotsById.remove(id) : null;
+            if (slot != null) {
+                unlink(slot);
+                books[slot] = null;
+                freeSlots.add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts recording the books changed while a rebuild reads its snapshot.
+     */
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            changes.beginRebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes every book from {@code snapshot}, keeping the books changed since {@link #beginRebuild()} as they
+     * were last indexed.
+     */
+    public void finishRebuild(Collection<BookFigures> snapshot) {
+        lock.writeLock().lock();
+        try {
+            List<BookFigures> merged = changes.finishRebuild(snapshot, id -> {
+                Integer slot = slotsById.get(id);
+                return slot != null ? books[slot] : null;
+            });
+            slotsById.clear();
+            live.clear();
+            freeSlots.clear();
+            byAuthor.clear();
+            byCategory.clear();
+            byPrizeRange.clear();
+            byPageRange.clear();
+            books = new BookFigures[Math.max(INITIAL_SLOTS, merged.size())];
+            nextSlot = 0;
+            for (BookFigures book : merged) {
+                int slot = allocate();
+                slotsById.put(book.getId(), slot);
+                link(slot, book);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates {@code query}; {@code nameMatches} are the ids matching the name filter, or {@code null} when
+     * there is none. Returns at most {@code limit} ids greater than {@code afterId}, in ascending order.
+     */
+    public BookFacetResult query(BookFacetQuery query, Collection<Long> nameMatches, Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap prizes = prizeFilter(query.getMinPrize(), query.getMaxPrize());
+            RoaringBitmap pages = pageFilter(query.getMinPages(), query.getMaxPages());
+            RoaringBitmap authors = union(byAuthor, query.getAuthorIds());
+            RoaringBitmap categories = union(byCategory, query.getCategoryIds());
+            RoaringBitmap names = nameMatches == null ? null : slotsOf(nameMatches);
+
+            RoaringBitmap matches = intersect(prizes, pages, authors, categories, names);
+            int facetLimit = Math.max(0, Math.min(query.getFacetLimit(), BookFacetQuery.MAX_FACET_LIMIT));
+            return new BookFacetResult(
+                    matches.getCardinality(),
+                    idsAfter(matches, afterId, limit),
+                    topCounts(byAuthor, intersect(prizes, pages, categories, names), facetLimit),
+                    topCounts(byCategory, intersect(prizes, pages, authors, names), facetLimit),
+                    counts(byPrizeRange, intersect(pages, authors, categories, names), BookFacetIndex::prizeRangeStart),
+                    counts(byPageRange, intersect(prizes, authors, categories, names), range -> range * PAGE_RANGE_WIDTH));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocate() {
+        if (!freeSlots.isEmpty()) {
+            int slot = freeSlots.first();
+            freeSlots.remove(slot);
+            return slot;
+        }
+        if (nextSlot == books.length) {
+            books = Arrays.copyOf(books, books.length * 2);
+        }
+        return nextSlot++;
+    }
+
+    private void link(int slot, BookFigures book) {
+        books[slot] = book;
+        live.add(slot);
+        byAuthor.computeIfAbsent(book.getAuthorId(), key -> new RoaringBitmap()).add(slot);
+        byCategory.computeIfAbsent(book.getCategoryId(), key -> new RoaringBitmap()).add(slot);
+        byPageRange.computeIfAbsent(pageRange(book.getPages()), key -> new RoaringBitmap()).add(slot);
+        if (book.getPrize() != null) {
+            byPrizeRange.computeIfAbsent(prizeRange(book.getPrize()), key -> new RoaringBitmap()).add(slot);
+        }
+    }
+
+    private void unlink(int slot) {
+        BookFigures book = books[slot];
+        live.remove(slot);
+        removeFrom(byAuthor, book.getAuthorId(), slot);
+        removeFrom(byCategory, book.getCategoryId(), slot);
+        removeFrom(byPageRange, pageRange(book.getPages()), slot);
+        if (book.getPrize() != null) {
+            removeFrom(byPrizeRange, prizeRange(book.getPrize()), slot);
+        }
+    }
+
+    private RoaringBitmap prizeFilter(BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        RoaringBitmap matches = new RoaringBitmap();
+        if (byPrizeRange.isEmpty()) {
+            return matches;
+        }
+        long from = min == null ? byPrizeRange.firstKey() : indexedPrizeRange(min);
+        long to = max == null ? byPrizeRange.lastKey() : indexedPrizeRange(max);
+        if (from > to) {
+            return matches;
+        }
+        for (Map.Entry<Long, RoaringBitmap> range : byPrizeRange.subMap(from, true, to, true).entrySet()) {
+            BigDecimal start = prizeRangeStart(range.getKey());
+            boolean covered = (min == null || start.compareTo(min) >= 0)
+                    && (max == null || start.add(PRIZE_RANGE_WIDTH).compareTo(max) <= 0);
+            if (covered) {
+                matches.or(range.getValue());
+            } else {
+                range.getValue().forEach((int slot) -> {
+                    BigDecimal prize = books[slot].getPrize();
+                    if ((min == null || prize.compareTo(min) >= 0) && (max == null || prize.compareTo(max) <= 0)) {
+                        matches.add(slot);
+                    }
+                });
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Clamps a bound to the indexed ranges first, so arbitrarily large bounds never overflow the range key.
+     */
+    private long indexedPrizeRange(BigDecimal bound) {
+        BigDecimal lowest = prizeRangeStart(byPrizeRange.firstKey());
+        BigDecimal highest = prizeRangeStart(byPrizeRange.lastKey());
+        return prizeRange(bound.max(lowest).min(highest));
+    }
+
+    private RoaringBitmap pageFilter(Integer min, Integer max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        int lower = min == null ? Integer.MIN_VALUE : min;
+        int upper = max == null ? Integer.MAX_VALUE : max;
+        RoaringBitmap matches = new RoaringBitmap();
+        if (lower > upper) {
+            return matches;
+        }
+        for (Map.Entry<Integer, RoaringBitmap> range : byPageRange.subMap(pageRange(lower), true, pageRange(upper), true).entrySet()) {
+            long start = (long) range.getKey() * PAGE_RANGE_WIDTH;
+            if (start >= lower && start + PAGE_RANGE_WIDTH - 1 <= upper) {
+                matches.or(range.getValue());
+            } else {
+                range.getValue().forEach((int slot) -> {
+                    int pages = books[slot].getPages();
+                    if (pages >= lower && pages <= upper) {
+                        matches.add(slot);
+                    }
+                });
+            }
+        }
+        return matches;
+    }
+
+    private static RoaringBitmap union(Map<Long, RoaringBitmap> facet, Set<Long> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap slots = new RoaringBitmap();
+        for (Long key : keys) {
+            RoaringBitmap matches = facet.get(key);
+            if (matches != null) {
+                slots.or(matches);
+            }
+        }
+        return slots;
+    }
+
+    private RoaringBitmap slotsOf(Collection<Long> ids) {
+        RoaringBitmap slots = new RoaringBitmap();
+        for (Long id : ids) {
+            Integer slot = slotsById.get(id);
+            if (slot != null) {
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+
+    private RoaringBitmap intersect(RoaringBitmap... filters) {
+        RoaringBitmap result = live.clone();
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Slots are reused, so they are not in id order; a bounded max-heap keeps the {@code limit} smallest ids
+     * past {@code afterId} without copying or sorting every match.
+     */
+    private List<Long> idsAfter(RoaringBitmap matches, Long afterId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Long> smallest = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+        matches.forEach((int slot) -> {
+            long id = books[slot].getId();
+            if ((afterId == null || id > afterId) && (smallest.size() < limit || id < smallest.peek())) {
+                smallest.add(id);
+                if (smallest.size() > limit) {
+                    smallest.poll();
+                }
+            }
+        });
+        return smallest.stream().sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * The {@code limit} most frequent keys, highest count first and ties by key; a bounded heap keeps large
+     * facets from materializing a count for every value.
+     */
+    private static Map<Long, Integer> topCounts(Map<Long, RoaringBitmap> facet, RoaringBitmap base, int limit) {
+        if (limit == 0) {
+            return Map.of();
+        }
+        Comparator<Map.Entry<Long, Integer>> byFrequency = Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(limit + 1, byFrequency.reversed());
+        facet.forEach((key, slots) -> {
+            int count = RoaringBitmap.andCardinality(slots, base);
+            if (count > 0) {
+                top.add(Map.entry(key, count));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        });
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        top.stream().sorted(byFrequency).forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+        return counts;
+    }
+
+    private static <K, L> Map<L, Integer> counts(Map<K, RoaringBitmap> facet, RoaringBitmap base, Function<K, L> label) {
+        Map<L, Integer> counts = new TreeMap<>();
+        facet.forEach((key, slots) -> {
+            int count = RoaringBitmap.andCardinality(slots, base);
+            if (count > 0) {
+                counts.put(label.apply(key), count);
+            }
+        });
+        return counts;
+    }
+
+    private static <K> void removeFrom(Map<K, RoaringBitmap> facet, K key, int slot) {
+        RoaringBitmap slots = facet.get(key);
+        if (slots != null) {
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                facet.remove(key);
+            }
+        }
+    }
+
+    private static long prizeRange(BigDecimal prize) {
+        return prize.divide(PRIZE_RANGE_WIDTH, 0, RoundingMode.FLOOR).longValueExact();
+    }
+
+    private static BigDecimal prizeRangeStart(long range) {
+        return PRIZE_RANGE_WIDTH.multiply(BigDecimal.valueOf(range));
+    }
+
+    private static int pageRange(int pages) {
+        return Math.floorDiv(pages, PAGE_RANGE_WIDTH);
+    }
+}
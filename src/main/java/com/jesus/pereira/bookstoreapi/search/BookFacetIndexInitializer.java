@@ -0,0 +1,67 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds {@link BookFacetIndex} from the book figures on startup and rebuilds it periodically, which repairs
+ * books written outside the services or whose after-commit change was lost.
+ */
+@Component
+public class BookFacetIndexInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookFacetIndexInitializer.class);
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookFacetIndex bookFacetIndex;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BookFacetIndexInitializer(BookRepository bookRepository, BookFacetIndex bookFacetIndex,
+                                     PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.bookFacetIndex = bookFacetIndex;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = "${bookstore.facets.reconcile-interval:PT5M}",
+            initialDelayString = "${bookstore.facets.reconcile-interval:PT5M}")
+    public void reconcile() {
+        bookFacetIndex.beginRebuild();
+        List<BookFigures> snapshot = new ArrayList<>();
+        long lastId = 0L;
+        List<BookFigures> chunk;
+        do {
+            chunk = bookRepository.findFiguresAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+            snapshot.addAll(chunk);
+            if (!chunk.isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        bookFacetIndex.finishRebuild(snapshot);
+        logger.info("Facet index rebuilt: {} books", bookFacetIndex.size());
+    }
+
+    /**
+     * Runs the first rebuild in a read-only transaction of its own; calling {@link #reconcile()} on {@code this}
+     * would skip the transactional proxy.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        readOnlyTransaction.executeWithoutResult(status -> reconcile());
+    }
+}
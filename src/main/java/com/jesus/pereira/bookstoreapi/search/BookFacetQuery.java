@@ -0,0 +1,38 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Filter combination for {@link BookFacetIndex}. Unset bounds and empty id sets do not restrict the result.
+ * {@code facetLimit} caps the author and category facets to their most frequent values; 0 leaves them out.
+ */
+@Getter
+@Builder
+public class BookFacetQuery {
+
+    public static final int DEFAULT_FACET_LIMIT = 10;
+    public static final int MAX_FACET_LIMIT = 100;
+
+    private final BigDecimal minPrize;
+
+    private final BigDecimal maxPrize;
+
+    private final Integer minPages;
+
+    private final Integer maxPages;
+
+    @Builder.Default
+    private final Set<Long> authorIds = Set.of();
+
+    @Builder.Default
+    private final Set<Long> categoryIds = Set.of();
+
+    private final String name;
+
+    @Builder.Default
+    private final int facetLimit = DEFAULT_FACET_LIMIT;
+}
@@ -0,0 +1,29 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matching book ids in id order plus facet counts. Each facet is counted with every filter applied except
+ * its own, so the counts show what selecting another value of that facet would return.
+ */
+@Getter
+@AllArgsConstructor
+public class BookFacetResult {
+
+    private final int total;
+
+    private final List<Long> ids;
+
+    private final Map<Long, Integer> authors;
+
+    private final Map<Long, Integer> categories;
+
+    private final Map<BigDecimal, Integer> prizeRanges;
+
+    private final Map<Integer, Integer> pageRanges;
+}
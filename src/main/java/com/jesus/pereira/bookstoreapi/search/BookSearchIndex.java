@@ -0,0 +1,23 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookSearchIndex extends SearchIndex<Book> {
+
+    @Override
+    protected Long idOf(Book book) {
+        return book.getId();
+    }
+
+    @Override
+    protected String[] fieldsOf(Book book) {
+        return new String[]{book.getName(), book.getDescription()};
+    }
+
+    @Override
+    protected String suggestionOf(Book book) {
+        return book.getName();
+    }
+}
@@ -0,0 +1,23 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategorySearchIndex extends SearchIndex<Category> {
+
+    @Override
+    protected Long idOf(Category category) {
+        return category.getId();
+    }
+
+    @Override
+    protected String[] fieldsOf(Category category) {
+        return new String[]{category.getName()};
+    }
+
+    @Override
+    protected String suggestionOf(Category category) {
+        return category.getName();
+    }
+}
@@ -0,0 +1,71 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Bloom filters of the case-insensitive names already stored, so creates only look up names that may be
+ * taken. Removed or renamed entries stay in the filter and just cost an extra lookup until the next rebuild.
+ */
+@Component
+public class ExistingNameFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final char SEPARATOR = '\u0000';
+
+    private final NameBloomFilter books;
+    private final NameBloomFilter authors;
+    private final NameBloomFilter categories;
+
+    public ExistingNameFilter(@Value("${bookstore.name-filter.expected-names:100000}") long expectedNames) {
+        this.books = new NameBloomFilter(expectedNames, FALSE_POSITIVE_RATE);
+        this.authors = new NameBloomFilter(expectedNames, FALSE_POSITIVE_RATE);
+        this.categories = new NameBloomFilter(expectedNames, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean mightContainBook(String name) {
+        return name != null && books.mightContain(normalize(name));
+    }
+
+    public void addBook(String name) {
+        if (name != null) {
+            books.add(normalize(name));
+        }
+    }
+
+    public boolean mightContainAuthor(String name, String surname) {
+        return name != null && surname != null && authors.mightContain(authorKey(name, surname));
+    }
+
+    public void addAuthor(String name, String surname) {
+        if (name != null && surname != null) {
+            authors.add(authorKey(name, surname));
+        }
+    }
+
+    public boolean mightContainCategory(String name) {
+        return name != null && categories.mightContain(normalize(name));
+    }
+
+    public void addCategory(String name) {
+        if (name != null) {
+            categories.add(normalize(name));
+        }
+    }
+
+    public void clear() {
+        books.clear();
+        authors.clear();
+        categories.clear();
+    }
+
+    private static String authorKey(String name, String surname) {
+        return normalize(name) + SEPARATOR + normalize(surname);
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
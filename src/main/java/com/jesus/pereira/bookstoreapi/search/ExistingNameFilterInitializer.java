@@ -0,0 +1,70 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.repository.AuthorRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fills {@link ExistingNameFilter} with every stored book, author and category name on startup.
+ */
+@Component
+public class ExistingNameFilterInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExistingNameFilterInitializer.class);
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CategoryRepository categoryRepository;
+    private final ExistingNameFilter existingNameFilter;
+
+    public ExistingNameFilterInitializer(BookRepository bookRepository, AuthorRepository authorRepository,
+                                         CategoryRepository categoryRepository, ExistingNameFilter existingNameFilter) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.categoryRepository = categoryRepository;
+        this.existingNameFilter = existingNameFilter;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        existingNameFilter.clear();
+        int books = load(bookRepository::findByIdGreaterThanOrderByIdAsc, Book::getId,
+                book -> existingNameFilter.addBook(book.getName()));
+        int authors = load(authorRepository::findByIdGreaterThanOrderByIdAsc, Author::getId,
+                author -> existingNameFilter.addAuthor(author.getName(), author.getSurname()));
+        int categories = load(categoryRepository::findByIdGreaterThanOrderByIdAsc, Category::getId,
+                category -> existingNameFilter.addCategory(category.getName()));
+        logger.info("Name filter built: {} books, {} authors, {} categories", books, authors, categories);
+    }
+
+    private static <T> int load(BiFunction<Long, Pageable, List<T>> chunkLoader, Function<T, Long> idExtractor,
+                                Consumer<T> recorder) {
+        int loaded = 0;
+        Long lastId = 0L;
+        List<T> chunk;
+        do {
+            chunk = chunkLoader.apply(lastId, PageRequest.of(0, CHUNK_SIZE));
+            chunk.forEach(recorder);
+            loaded += chunk.size();
+            if (!chunk.isEmpty()) {
+                lastId = idExtractor.apply(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        return loaded;
+    }
+}
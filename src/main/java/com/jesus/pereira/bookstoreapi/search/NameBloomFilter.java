@@ -0,0 +1,69 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bloom filter over string keys. {@link #mightContain(String)} never returns {@code false} for a
+ * key that was added, so a miss proves the key is absent; a hit only means it may be present.
+ */
+public class NameBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final int bits;
+    private final int hashes;
+
+    public NameBloomFilter(long expectedKeys, double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-Math.max(expectedKeys, 1) * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.bits = (int) Math.min(Math.max(optimalBits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / Math.max(expectedKeys, 1) * LN2));
+        this.words = new AtomicLongArray((bits + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    public void add(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, 0L);
+        }
+    }
+
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,130 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class PrefixTrie {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+
+    public void add(String term) {
+        String key = normalize(term);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            node.terms.merge(term.trim(), 1, Integer::sum);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String term) {
+        String key = normalize(term);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                path.push(node);
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return;
+            }
+            node.terms.computeIfPresent(term.trim(), (display, count) -> count > 1 ? count - 1 : null);
+
+            for (int i = key.length() - 1; i >= 0 && node.isEmpty(); i--) {
+                Node parent = path.pop();
+                parent.children.remove(key.charAt(i));
+                node = parent;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.terms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The first {@code limit} completions under {@code prefix} in lexicographic order. The walk stops as soon as
+     * {@code limit} terms are found, so it costs the prefix length plus the visited path to each result, no matter
+     * how large the subtree under the prefix is.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<String> suggestions = new ArrayList<>();
+        if (key.isEmpty() || limit < 1) {
+            return suggestions;
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node != null) {
+                collect(node, suggestions, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions;
+    }
+
+    private void collect(Node node, List<String> suggestions, int limit) {
+        for (String term : node.terms.keySet()) {
+            if (suggestions.size() == limit) {
+                return;
+            }
+            suggestions.add(term);
+        }
+        for (Node child : node.children.values()) {
+            if (suggestions.size() == limit) {
+                return;
+            }
+            collect(child, suggestions, limit);
+        }
+    }
+
+    private static String normalize(String term) {
+        return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new TreeMap<>();
+        private final Map<String, Integer> terms = new TreeMap<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && terms.isEmpty();
+        }
+    }
+}
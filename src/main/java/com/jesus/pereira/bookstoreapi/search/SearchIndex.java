@@ -0,0 +1,292 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+public abstract class SearchIndex<T> {
+
+    private static final int GRAM_SIZE = 3;
+    private static final int SHORT_QUERY_MATCH_LIMIT = 1000;
+    private static final int FIELD_WEIGHT = 10;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final NavigableMap<Long, String[]> documents = new TreeMap<>();
+    private final Map<Long, String> suggestionsById = new HashMap<>();
+    private final PrefixTrie suggestions = new PrefixTrie();
+
+    protected abstract Long idOf(T entity);
+
+    protected abstract String[] fieldsOf(T entity);
+
+    protected abstract String suggestionOf(T entity);
+
+    public void index(T entity) {
+        Long id = idOf(entity);
+        String[] fields = normalize(fieldsOf(entity));
+        String suggestion = suggestionOf(entity);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            addDocument(id, fields, suggestion);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes only the fields {@code changes} sets; null fields keep their indexed value, so a partial update
+     * does not have to read the whole entity back. Documents not indexed yet are left alone.
+     */
+    public void patch(Long id, T changes) {
+        String[] changedFields = fieldsOf(changes);
+        String changedSuggestion = suggestionOf(changes);
+
+        lock.writeLock().lock();
+        try {
+            String[] fields = documents.get(id);
+            if (fields == null) {
+                return;
+            }
+            String[] patched = fields.clone();
+            for (int i = 0; i < patched.length && i < changedFields.length; i++) {
+                if (changedFields[i] != null) {
+                    patched[i] = normalize(changedFields[i]);
+                }
+            }
+            String suggestion = changedSuggestion != null ? changedSuggestion : suggestionsById.get(id);
+            removeDocument(id);
+            addDocument(id, patched, suggestion);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<T> entities) {
+        entities.forEach(this::index);
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            suggestionsById.clear();
+            suggestions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        PriorityQueue<ScoredId> best = new PriorityQueue<>(ScoredId.WORST_FIRST);
+
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(normalized)) {
+                int score = score(documents.get(id), normalized, Integer.MAX_VALUE);
+                if (score > 0) {
+                    best.offer(new ScoredId(id, score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ScoredId> ranked = new ArrayList<>(best);
+        ranked.sort(ScoredId.WORST_FIRST.reversed());
+        return ranked.stream().map(ScoredId::getId).collect(Collectors.toList());
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return suggestions.suggest(prefix, limit);
+    }
+
+    public List<Long> searchPrimaryField(String query) {
+        return searchPrimaryField(query, SHORT_QUERY_MATCH_LIMIT);
+    }
+
+    /**
+     * Ids whose primary field contains {@code query}, in id order. A query shorter than a gram has no postings to
+     * intersect, so it is answered by walking the documents in id order and stops at the first
+     * {@code shortQueryLimit} matches.
+     */
+    public List<Long> searchPrimaryField(String query, int shortQueryLimit) {
+        String normalized = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < GRAM_SIZE) {
+                return scanPrimaryField(normalized, shortQueryLimit);
+            }
+            return candidates(normalized).stream()
+                    .filter(id -> score(documents.get(id), normalized, 1) > 0)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> scanPrimaryField(String query, int limit) {
+        List<Long> matches = new ArrayList<>();
+        for (Map.Entry<Long, String[]> document : documents.entrySet()) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            if (score(document.getValue(), query, 1) > 0) {
+                matches.add(document.getKey());
+            }
+        }
+        return matches;
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM_SIZE) {
+            return documents.keySet();
+        }
+
+        List<Set<Long>> matches = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            matches.add(ids);
+        }
+        matches.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> candidates = new HashSet<>(matches.get(0));
+        for (int i = 1; i < matches.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(matches.get(i));
+        }
+        return candidates;
+    }
+
+    private int score(String[] fields, String query, int fieldsToMatch) {
+        int score = 0;
+        for (int i = 0; i < fields.length && i < fieldsToMatch; i++) {
+            int weight = (fields.length - i) * FIELD_WEIGHT;
+            if (fields[i].equals(query)) {
+                score += weight * 3;
+            } else if (fields[i].startsWith(query)) {
+                score += weight * 2;
+            } else if (fields[i].contains(query)) {
+                score += weight;
+            }
+        }
+        return score;
+    }
+
+    private void addDocument(Long id, String[] fields, String suggestion) {
+        documents.put(id, fields);
+        if (suggestion != null) {
+            suggestionsById.put(id, suggestion);
+            suggestions.add(suggestion);
+        }
+        for (String field : fields) {
+            for (String gram : grams(field)) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+            }
+        }
+    }
+
+    private void removeDocument(Long id) {
+        String suggestion = suggestionsById.remove(id);
+        if (suggestion != null) {
+            suggestions.remove(suggestion);
+        }
+
+        String[] fields = documents.remove(id);
+        if (fields == null) {
+            return;
+        }
+        for (String field : fields) {
+            for (String gram : grams(field)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static String[] normalize(String[] fields) {
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = normalize(fields[i]);
+        }
+        return normalized;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class ScoredId {
+
+        private static final Comparator<ScoredId> WORST_FIRST = Comparator.comparingInt(ScoredId::getScore)
+                .thenComparing(ScoredId::getId, Comparator.reverseOrder());
+
+        private final Long id;
+        private final int score;
+
+        private ScoredId(Long id, int score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        private Long getId() {
+            return id;
+        }
+
+        private int getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import com.jesus.pereira.bookstoreapi.repository.AuthorRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+@Component
+public class SearchIndexInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexInitializer.class);
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final AuthorSearchIndex authorSearchIndex;
+    private final CategorySearchIndex categorySearchIndex;
+
+    public SearchIndexInitializer(BookRepository bookRepository, AuthorRepository authorRepository,
+                                  CategoryRepository categoryRepository, BookSearchIndex bookSearchIndex,
+                                  AuthorSearchIndex authorSearchIndex, CategorySearchIndex categorySearchIndex) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.categoryRepository = categoryRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.authorSearchIndex = authorSearchIndex;
+        this.categorySearchIndex = categorySearchIndex;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild(bookSearchIndex, bookRepository::findByIdGreaterThanOrderByIdAsc, bookSearchIndex::idOf);
+        rebuild(authorSearchIndex, authorRepository::findByIdGreaterThanOrderByIdAsc, authorSearchIndex::idOf);
+        rebuild(categorySearchIndex, categoryRepository::findByIdGreaterThanOrderByIdAsc, categorySearchIndex::idOf);
+        logger.info("Search indexes built: {} books, {} authors, {} categories",
+                bookSearchIndex.size(), authorSearchIndex.size(), categorySearchIndex.size());
+    }
+
+    private <T> void rebuild(SearchIndex<T> index, BiFunction<Long, Pageable, List<T>> chunkLoader,
+                             Function<T, Long> idExtractor) {
+        index.clear();
+        Long lastId = 0L;
+        List<T> chunk;
+        do {
+            chunk = chunkLoader.apply(lastId, PageRequest.of(0, CHUNK_SIZE));
+            index.indexAll(chunk);
+            if (!chunk.isEmpty()) {
+                lastId = idExtractor.apply(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+}
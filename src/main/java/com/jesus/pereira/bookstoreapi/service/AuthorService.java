@@ -1,22 +1,37 @@
 package com.jesus.pereira.bookstoreapi.service;
 
 import com.jesus.pereira.bookstoreapi.domain.Author;
-import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
 import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorPatchDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AuthorService {
 
     Author findAuthorById(Long id);
 
+    VersionDTO findAuthorVersion(Long id);
+
+    List<Author> findAuthorsByIds(Collection<Long> ids);
+
     List<Author> findAllAuthors();
 
+    KeysetPage<Author> findAllAuthors(String continuationToken, int size);
+
+    KeysetPage<AuthorDTO> findAllAuthorViews(String continuationToken, int size);
+
     List<Author> findAuthorsByNameLike(String name);
 
+    List<Author> searchAuthors(String query, int limit);
+
     Author createAuthor(AuthorDTO authorDTO);
 
-    Author updateAuthor(AuthorDTO authorDTO, Long id);
+    Author updateAuthor(AuthorDTO authorDTO, Long id, Long expectedVersion);
+
+    void patchAuthor(Long id, AuthorPatchDTO changes, Long expectedVersion);
 
     void deleteAuthor(Long authorId);
 
@@ -0,0 +1,9 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.SuggestionsDTO;
+
+public interface AutocompleteService {
+
+    SuggestionsDTO suggest(String prefix, int limit);
+
+}
@@ -0,0 +1,18 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkResultDTO;
+
+import java.util.List;
+
+public interface BookBulkService {
+
+    /**
+     * Creates the valid books of the batch in one transaction and reports the others as item errors. If a name is
+     * created concurrently, the transaction is rolled back and the whole batch is run again once, with every name
+     * checked against the database. The batch is all-or-nothing, so the retry cannot be narrowed to the chunk that
+     * failed. A conflicting batch therefore costs about twice as much as a clean one.
+     */
+    BulkResultDTO createBooks(List<BookDTO> bookRequests);
+
+}
@@ -0,0 +1,10 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+
+    long exportBooks(OutputStream outputStream) throws IOException;
+
+}
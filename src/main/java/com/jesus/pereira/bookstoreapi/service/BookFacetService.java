@@ -0,0 +1,10 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFacetsDTO;
+import com.jesus.pereira.bookstoreapi.search.BookFacetQuery;
+
+public interface BookFacetService {
+
+    BookFacetsDTO findBooks(BookFacetQuery query, String continuationToken, int size);
+
+}
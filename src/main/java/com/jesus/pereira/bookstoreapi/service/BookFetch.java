@@ -0,0 +1,8 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+public enum BookFetch {
+
+    BOOK_ONLY,
+
+    WITH_AUTHOR_AND_CATEGORY
+}
@@ -0,0 +1,11 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFilterCriteria;
+
+public interface BookFilterService {
+
+    KeysetPage<BookDTO> filterBooks(BookFilterCriteria criteria, String continuationToken, int size);
+
+}
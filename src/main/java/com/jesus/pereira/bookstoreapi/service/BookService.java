@@ -1,27 +1,69 @@
 package com.jesus.pereira.bookstoreapi.service;
 
 import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
 import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookPatchDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
 
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BookService {
 
     Book findBookById(Long id);
 
+    Book findBookById(Long id, BookFetch fetch);
+
+    List<Book> findBooksByIds(Collection<Long> ids);
+
+    List<Book> findBooksByIds(Collection<Long> ids, BookFetch fetch);
+
+    VersionDTO findBookVersion(Long id);
+
     List<Book> findAllBooks();
 
+    List<Book> findAllBooks(BookFetch fetch);
+
+    KeysetPage<Book> findAllBooks(String continuationToken, int size);
+
+    KeysetPage<Book> findAllBooks(String continuationToken, int size, BookFetch fetch);
+
+    KeysetPage<BookDTO> findAllBookViews(String continuationToken, int size);
+
+    List<BookDTO> findBookViewsByAuthorId(Long authorId);
+
+    List<BookDTO> findBookViewsByCategoryId(Long categoryId);
+
     List<Book> findBooksByNameLike(String name);
 
+    List<Book> findBooksByNameLike(String name, BookFetch fetch);
+
+    List<Book> searchBooks(String query, int limit);
+
+    List<Book> searchBooks(String query, int limit, BookFetch fetch);
+
     List<Book> findBooksByAuthorId(Long authorId);
 
+    List<Book> findBooksByAuthorId(Long authorId, BookFetch fetch);
+
     List<Book> findBooksByCategoryId(Long categoryId);
 
+    List<Book> findBooksByCategoryId(Long categoryId, BookFetch fetch);
+
     Book createBook(BookDTO bookRequest);
 
-    Book updateBook(BookDTO bookRequest, Long bookId);
+    Book updateBook(BookDTO bookRequest, Long bookId, Long expectedVersion);
+
+    void patchBook(Long bookId, BookPatchDTO changes, Long expectedVersion);
 
     void deleteBook(Long bookId);
 
+    int deleteBooks(Collection<Long> bookIds);
+
+    int deleteBooksByAuthorId(Long authorId);
+
+    int deleteBooksByCategoryId(Long categoryId);
+
 }
@@ -0,0 +1,19 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import reactor.core.publisher.Flux;
+
+public interface CatalogStreamService {
+
+    Flux<BookDTO> streamBooks();
+
+    Flux<BookDTO> streamBooksByAuthorId(Long authorId);
+
+    Flux<BookDTO> streamBooksByCategoryId(Long categoryId);
+
+    Flux<AuthorDTO> streamAuthors();
+
+    Flux<CategoryDTO> streamCategories();
+}
@@ -1,8 +1,12 @@
 package com.jesus.pereira.bookstoreapi.service;
 
 import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
 import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryPatchDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,13 +15,25 @@ public interface CategoryService {
 
     Category findCategoryById(Long id);
 
+    VersionDTO findCategoryVersion(Long id);
+
+    List<Category> findCategoriesByIds(Collection<Long> ids);
+
     List<Category> findAllCategories();
 
+    KeysetPage<Category> findAllCategories(String continuationToken, int size);
+
+    KeysetPage<CategoryDTO> findAllCategoryViews(String continuationToken, int size);
+
     List<Category> findCategoriesByNameLike(String name);
 
+    List<Category> searchCategories(String query, int limit);
+
     Category createCategory(CategoryDTO categoryDTO);
 
-    Category updateCategory(CategoryDTO categoryDTO, Long categoryId);
+    Category updateCategory(CategoryDTO categoryDTO, Long categoryId, Long expectedVersion);
+
+    void patchCategory(Long categoryId, CategoryPatchDTO changes, Long expectedVersion);
 
     void deleteCategory(Long categoryId);
 
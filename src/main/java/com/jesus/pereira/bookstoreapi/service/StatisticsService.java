@@ -0,0 +1,12 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.BookStatisticsDTO;
+
+public interface StatisticsService {
+
+    BookStatisticsDTO findAuthorStatistics(Long authorId);
+
+    BookStatisticsDTO findCategoryStatistics(Long categoryId);
+
+    void reconcile();
+}
@@ -1,28 +1,69 @@
 package com.jesus.pereira.bookstoreapi.service.impl;
 
+import com.jesus.pereira.bookstoreapi.cache.BookResponseCache;
+import com.jesus.pereira.bookstoreapi.coalescing.Coalesced;
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
 import com.jesus.pereira.bookstoreapi.domain.Author;
 import com.jesus.pereira.bookstoreapi.exception.AuthorAlreadyExistsException;
 import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
 import com.jesus.pereira.bookstoreapi.mapper.AuthorMapper;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
 import com.jesus.pereira.bookstoreapi.repository.AuthorRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
 import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorPatchDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import com.jesus.pereira.bookstoreapi.search.AuthorSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.BookFacetIndex;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.ExistingNameFilter;
 import com.jesus.pereira.bookstoreapi.service.AuthorService;
+import com.jesus.pereira.bookstoreapi.statistics.CatalogStatistics;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
 public class AuthorServiceImpl implements AuthorService {
 
     private static final String AUTHOR_ALREADY_EXISTS_EXCEPTION = "Author with name %1$s and surname %2$s";
+    private static final String AUTHOR_RENAME_CONFLICT_EXCEPTION = "Another author already has the name and surname requested for author %s";
     private static final String NO_SUCH_ELEMENT_EXISTS_EXCEPTION = "No author exists with id %s";
+    private static final String ENTITY_NAME = "Author";
 
     private final AuthorRepository authorRepository;
     private final AuthorMapper authorMapper;
+    private final AuthorSearchIndex authorSearchIndex;
+    private final BookRepository bookRepository;
+    private final BookViewRepository bookViewRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookResponseCache bookResponseCache;
+    private final ExistingNameFilter existingNameFilter;
+    private final CatalogStatistics catalogStatistics;
+    private final BookFacetIndex bookFacetIndex;
 
-    public AuthorServiceImpl(AuthorRepository authorRepository, AuthorMapper authorMapper) {
+    public AuthorServiceImpl(AuthorRepository authorRepository, AuthorMapper authorMapper, AuthorSearchIndex authorSearchIndex,
+                             BookRepository bookRepository,
+                             BookSearchIndex bookSearchIndex, BookResponseCache bookResponseCache,
+                             BookViewRepository bookViewRepository, ExistingNameFilter existingNameFilter,
+                             CatalogStatistics catalogStatistics, BookFacetIndex bookFacetIndex) {
         this.authorRepository = authorRepository;
         this.authorMapper = authorMapper;
+        this.authorSearchIndex = authorSearchIndex;
+        this.bookRepository = bookRepository;
+        this.bookViewRepository = bookViewRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookResponseCache = bookResponseCache;
+        this.existingNameFilter = existingNameFilter;
+        this.catalogStatistics = catalogStatistics;
+        this.bookFacetIndex = bookFacetIndex;
     }
 
 
@@ -31,40 +72,138 @@ public class AuthorServiceImpl implements AuthorService {
         return authorRepository.findById(id).orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, id)));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public VersionDTO findAuthorVersion(Long id) {
+        return authorRepository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, id)));
+    }
+
+    @Override
+    public List<Author> findAuthorsByIds(Collection<Long> ids) {
+        return IdChunks.findInOrder(ids, authorRepository::findAllById, Author::getId);
+    }
+
     @Override
     public List<Author> findAllAuthors() {
         return authorRepository.findAll();
     }
 
+    @Override
+    public KeysetPage<Author> findAllAuthors(String continuationToken, int size) {
+        List<Author> authors = authorRepository.findByIdGreaterThanOrderByIdAsc(ContinuationToken.decode(continuationToken),
+                ContinuationToken.lookAhead(size));
+        return ContinuationToken.toPage(authors, size, Author::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<AuthorDTO> findAllAuthorViews(String continuationToken, int size) {
+        List<AuthorDTO> authors = authorRepository.findAuthorViewsAfter(ContinuationToken.decode(continuationToken),
+                ContinuationToken.lookAhead(size));
+        return ContinuationToken.toPage(authors, size, AuthorDTO::getId);
+    }
+
     @Override
     public List<Author> findAuthorsByNameLike(String name) {
-        return authorRepository.findByNameContainingIgnoreCase(name);
+        return IdChunks.findInOrder(authorSearchIndex.searchPrimaryField(name), authorRepository::findAllById, Author::getId);
+    }
+
+    @Override
+    public List<Author> searchAuthors(String query, int limit) {
+        return IdChunks.findInOrder(authorSearchIndex.search(query, limit), authorRepository::findAllById, Author::getId);
     }
 
     @Override
     public Author createAuthor(AuthorDTO authorDto) {
-        authorRepository.findByNameAndSurnameIgnoreCase(authorDto.getName(), authorDto.getSurname())
-                .ifPresent(err -> {
-                    throw new AuthorAlreadyExistsException(String.format(AUTHOR_ALREADY_EXISTS_EXCEPTION, authorDto.getName(), authorDto.getSurname()));
-                });
-        Author author = authorMapper.toAuthor(authorDto);
-        return authorRepository.save(author);
+        if (existingNameFilter.mightContainAuthor(authorDto.getName(), authorDto.getSurname())) {
+            authorRepository.findByNameAndSurnameIgnoreCase(authorDto.getName(), authorDto.getSurname())
+                    .ifPresent(err -> {
+                        throw alreadyExists(authorDto.getName(), authorDto.getSurname());
+                    });
+        }
+        Author authorToPersist = authorMapper.toAuthor(authorDto);
+        authorToPersist.setUpdateDate(LocalDateTime.now());
+        Author author = ConstraintViolations.enforce(() -> authorRepository.save(authorToPersist),
+                ConstraintViolations.AUTHOR_NAME_SURNAME, () -> alreadyExists(authorDto.getName(), authorDto.getSurname()));
+        AfterCommit.run(() -> {
+            existingNameFilter.addAuthor(author.getName(), author.getSurname());
+            authorSearchIndex.index(author);
+        });
+        return author;
     }
 
     @Override
-    public Author updateAuthor(AuthorDTO authorDto, Long id) {
-        Author authorToPersist = authorMapper.toAuthorUpdate(authorDto, id);
-        return authorRepository.findById(id)
-                .map(author -> authorRepository.save(authorToPersist))
-                .orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, id)));
+    @Transactional
+    public Author updateAuthor(AuthorDTO authorDto, Long id, Long expectedVersion) {
+        Author author = findAuthorById(id);
+        VersionCheck.verify(ENTITY_NAME, id, author.getVersion(), expectedVersion);
+        authorMapper.updateAuthor(authorDto, author);
+        author.setUpdateDate(LocalDateTime.now());
+        ConstraintViolations.enforce(authorRepository::flush, ConstraintViolations.AUTHOR_NAME_SURNAME,
+                () -> alreadyExists(author.getName(), author.getSurname()));
+        bookViewRepository.refreshAuthor(id);
+        AfterCommit.run(() -> {
+            existingNameFilter.addAuthor(author.getName(), author.getSurname());
+            authorSearchIndex.index(author);
+            bookResponseCache.evictAuthor(id);
+        });
+        return author;
     }
 
+    /**
+     * Patches the managed entity instead of a bulk update, which would evict the whole author cache region. The
+     * entity is usually served from the second-level cache and {@code @DynamicUpdate} flushes a single UPDATE
+     * of the changed columns, refreshing only this author's cache entry.
+     */
     @Override
+    @Transactional
+    public void patchAuthor(Long id, AuthorPatchDTO changes, Long expectedVersion) {
+        Author author = findAuthorById(id);
+        VersionCheck.verify(ENTITY_NAME, id, author.getVersion(), expectedVersion);
+        if (changes.getName() != null) {
+            author.setName(changes.getName());
+        }
+        if (changes.getSurname() != null) {
+            author.setSurname(changes.getSurname());
+        }
+        boolean indexedFieldsChanged = changes.getName() != null || changes.getSurname() != null;
+        author.setUpdateDate(LocalDateTime.now());
+        ConstraintViolations.enforce(authorRepository::flush, ConstraintViolations.AUTHOR_NAME_SURNAME,
+                () -> new AuthorAlreadyExistsException(String.format(AUTHOR_RENAME_CONFLICT_EXCEPTION, id)));
+        bookViewRepository.refreshAuthor(id);
+        AfterCommit.run(() -> {
+            if (indexedFieldsChanged) {
+                existingNameFilter.addAuthor(author.getName(), author.getSurname());
+                authorSearchIndex.index(author);
+            }
+            bookResponseCache.evictAuthor(id);
+        });
+    }
+
+    @Override
+    @Transactional
     public void deleteAuthor(Long authorId) {
-        authorRepository.findById(authorId).ifPresentOrElse(
-                (ok) -> authorRepository.deleteById(authorId),
-                () -> {
-                    throw new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, authorId));
-                });
+        Author author = findAuthorById(authorId);
+        List<Long> bookIds = bookRepository.findIdsByAuthorId(authorId);
+        bookRepository.deleteBooksByAuthorId(authorId);
+        bookViewRepository.deleteViewsByAuthorId(authorId);
+        authorRepository.delete(author);
+        AfterCommit.run(() -> {
+            bookIds.forEach(bookId -> {
+                catalogStatistics.bookRemoved(bookId);
+                bookFacetIndex.remove(bookId);
+                bookSearchIndex.remove(bookId);
+            });
+            catalogStatistics.authorRemoved(authorId);
+            authorSearchIndex.remove(authorId);
+            bookResponseCache.evictAuthor(authorId);
+        });
     }
+
+    private static AuthorAlreadyExistsException alreadyExists(String name, String surname) {
+        return new AuthorAlreadyExistsException(String.format(AUTHOR_ALREADY_EXISTS_EXCEPTION, name, surname));
+    }
+
 }
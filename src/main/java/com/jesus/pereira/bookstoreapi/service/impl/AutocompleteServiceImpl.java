@@ -0,0 +1,35 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
+import com.jesus.pereira.bookstoreapi.resource.dto.SuggestionsDTO;
+import com.jesus.pereira.bookstoreapi.search.AuthorSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.CategorySearchIndex;
+import com.jesus.pereira.bookstoreapi.service.AutocompleteService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+@Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private final BookSearchIndex bookSearchIndex;
+    private final AuthorSearchIndex authorSearchIndex;
+    private final CategorySearchIndex categorySearchIndex;
+
+    public AutocompleteServiceImpl(BookSearchIndex bookSearchIndex, AuthorSearchIndex authorSearchIndex,
+                                   CategorySearchIndex categorySearchIndex) {
+        this.bookSearchIndex = bookSearchIndex;
+        this.authorSearchIndex = authorSearchIndex;
+        this.categorySearchIndex = categorySearchIndex;
+    }
+
+    @Override
+    public SuggestionsDTO suggest(String prefix, int limit) {
+        return SuggestionsDTO.builder()
+                .books(bookSearchIndex.suggest(prefix, limit))
+                .authors(authorSearchIndex.suggest(prefix, limit))
+                .categories(categorySearchIndex.suggest(prefix, limit))
+                .build();
+    }
+}
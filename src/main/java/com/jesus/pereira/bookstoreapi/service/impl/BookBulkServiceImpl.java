@@ -0,0 +1,211 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import com.jesus.pereira.bookstoreapi.cache.BookResponseCache;
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.exception.BookAlreadyExistsException;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkItemErrorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkResultDTO;
+import com.jesus.pereira.bookstoreapi.search.BookFacetIndex;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.ExistingNameFilter;
+import com.jesus.pereira.bookstoreapi.service.AuthorService;
+import com.jesus.pereira.bookstoreapi.service.BookBulkService;
+import com.jesus.pereira.bookstoreapi.service.CategoryService;
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import com.jesus.pereira.bookstoreapi.statistics.CatalogStatistics;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
+public class BookBulkServiceImpl implements BookBulkService {
+
+    private static final String BOOK_ALREADY_EXISTS_EXCEPTION = "Book with name %1$s ";
+    private static final String NO_SUCH_AUTHOR_EXISTS_EXCEPTION = "No author exists with id %s";
+    private static final String NO_SUCH_CATEGORY_EXISTS_EXCEPTION = "No category exists with id %s";
+    private static final String NAME_REQUIRED = "Book name is required";
+    private static final String PRIZE_REQUIRED = "Book prize is required";
+    private static final String CONCURRENT_NAME_CONFLICT = "A book name in the batch was created concurrently";
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookViewRepository bookViewRepository;
+    private final BookMapper bookMapper;
+    private final AuthorService authorService;
+    private final CategoryService categoryService;
+    private final BookSearchIndex bookSearchIndex;
+    private final EntityManager entityManager;
+    private final BookResponseCache bookResponseCache;
+    private final ExistingNameFilter existingNameFilter;
+    private final CatalogStatistics catalogStatistics;
+    private final BookFacetIndex bookFacetIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public BookBulkServiceImpl(BookRepository bookRepository, BookMapper bookMapper, AuthorService authorService,
+                               CategoryService categoryService, BookSearchIndex bookSearchIndex, EntityManager entityManager,
+                               BookResponseCache bookResponseCache, BookViewRepository bookViewRepository,
+                               ExistingNameFilter existingNameFilter, CatalogStatistics catalogStatistics,
+                               BookFacetIndex bookFacetIndex, TransactionTemplate transactionTemplate,
+                               @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.bookRepository = bookRepository;
+        this.bookViewRepository = bookViewRepository;
+        this.bookMapper = bookMapper;
+        this.authorService = authorService;
+        this.categoryService = categoryService;
+        this.bookSearchIndex = bookSearchIndex;
+        this.entityManager = entityManager;
+        this.bookResponseCache = bookResponseCache;
+        this.existingNameFilter = existingNameFilter;
+        this.catalogStatistics = catalogStatistics;
+        this.bookFacetIndex = bookFacetIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * The name filter only learns about other writers' names after they commit, so a concurrent create can slip
+     * past it and trip the unique index at flush. That attempt is rolled back and the batch is retried once with
+     * every name checked against the database, which reports the colliding names as item errors. See
+     * {@link BookBulkService#createBooks(List)} for the cost of that retry.
+     */
+    @Override
+    public BulkResultDTO createBooks(List<BookDTO> bookRequests) {
+        try {
+            return transactionTemplate.execute(status -> insertBooks(bookRequests, false));
+        } catch (BookAlreadyExistsException ex) {
+            return transactionTemplate.execute(status -> insertBooks(bookRequests, true));
+        }
+    }
+
+    private BulkResultDTO insertBooks(List<BookDTO> bookRequests, boolean checkAllNames) {
+        Set<String> existingNames = findExistingNames(bookRequests, checkAllNames);
+        Map<Long, Author> authors = authorService.findAuthorsByIds(ids(bookRequests, BookDTO::getAuthorId)).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+        Map<Long, Category> categories = categoryService.findCategoriesByIds(ids(bookRequests, BookDTO::getCategoryId)).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<BulkItemErrorDTO> errors = new ArrayList<>();
+        List<Book> created = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int index = 0; index < bookRequests.size(); index++) {
+            BookDTO bookDTO = bookRequests.get(index);
+            String error = validate(bookDTO, existingNames, authors, categories);
+            if (error != null) {
+                errors.add(BulkItemErrorDTO.builder().index(index).name(bookDTO.getName()).error(error).build());
+                continue;
+            }
+            existingNames.add(normalize(bookDTO.getName()));
+
+            Book book = bookMapper.toBook(bookDTO);
+            book.setId(null);
+            book.setAuthor(authors.get(bookDTO.getAuthorId()));
+            book.setCategory(categories.get(bookDTO.getCategoryId()));
+            book.setCreationDate(now);
+            entityManager.persist(book);
+            created.add(book);
+
+            if (created.size() % batchSize == 0) {
+                flush();
+                entityManager.clear();
+            }
+        }
+        flush();
+
+        List<Long> createdIds = created.stream().map(Book::getId).collect(Collectors.toList());
+        for (int from = 0; from < createdIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            bookViewRepository.refreshBooks(createdIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, createdIds.size())));
+        }
+        AfterCommit.run(() -> {
+            created.forEach(book -> {
+                existingNameFilter.addBook(book.getName());
+                catalogStatistics.bookSaved(BookFigures.of(book));
+                bookFacetIndex.index(BookFigures.of(book));
+            });
+            bookSearchIndex.indexAll(created);
+            bookResponseCache.evictBookLists(
+                    created.stream().map(book -> book.getAuthor().getId()).collect(Collectors.toSet()),
+                    created.stream().map(book -> book.getCategory().getId()).collect(Collectors.toSet()));
+        });
+        return BulkResultDTO.builder()
+                .received(bookRequests.size())
+                .created(created.size())
+                .errors(errors)
+                .build();
+    }
+
+    private String validate(BookDTO bookDTO, Set<String> existingNames, Map<Long, Author> authors,
+                            Map<Long, Category> categories) {
+        if (bookDTO.getName() == null || bookDTO.getName().isBlank()) {
+            return NAME_REQUIRED;
+        }
+        if (bookDTO.getPrize() == null) {
+            return PRIZE_REQUIRED;
+        }
+        if (existingNames.contains(normalize(bookDTO.getName()))) {
+            return String.format(BOOK_ALREADY_EXISTS_EXCEPTION, bookDTO.getName());
+        }
+        if (!authors.containsKey(bookDTO.getAuthorId())) {
+            return String.format(NO_SUCH_AUTHOR_EXISTS_EXCEPTION, bookDTO.getAuthorId());
+        }
+        if (!categories.containsKey(bookDTO.getCategoryId())) {
+            return String.format(NO_SUCH_CATEGORY_EXISTS_EXCEPTION, bookDTO.getCategoryId());
+        }
+        return null;
+    }
+
+    private void flush() {
+        ConstraintViolations.enforce(bookRepository::flush, ConstraintViolations.BOOK_NAME,
+                () -> new BookAlreadyExistsException(CONCURRENT_NAME_CONFLICT));
+    }
+
+    private Set<String> findExistingNames(List<BookDTO> bookRequests, boolean checkAllNames) {
+        Set<String> names = bookRequests.stream()
+                .map(BookDTO::getName)
+                .filter(Objects::nonNull)
+                .filter(name -> checkAllNames || existingNameFilter.mightContainBook(name))
+                .map(BookBulkServiceImpl::normalize)
+                .collect(Collectors.toSet());
+        return new HashSet<>(chunked(names, bookRepository::findExistingNames));
+    }
+
+    private static Set<Long> ids(List<BookDTO> bookRequests, Function<BookDTO, Long> idExtractor) {
+        return bookRequests.stream().map(idExtractor).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <K, V> List<V> chunked(Collection<K> keys, Function<List<K>, Collection<V>> loader) {
+        List<V> results = new ArrayList<>();
+        List<K> keyList = new ArrayList<>(keys);
+        for (int from = 0; from < keyList.size(); from += LOOKUP_CHUNK_SIZE) {
+            results.addAll(loader.apply(keyList.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, keyList.size()))));
+        }
+        return results;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
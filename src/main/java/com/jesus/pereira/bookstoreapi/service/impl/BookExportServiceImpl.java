@@ -0,0 +1,99 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.service.BookExportService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
+public class BookExportServiceImpl implements BookExportService {
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public BookExportServiceImpl(BookRepository bookRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBooks(OutputStream outputStream) throws IOException {
+        long exported = 0;
+        try (Stream<Book> books = bookRepository.streamAllWithAuthorAndCategory();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString(""));
+
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                writeBook(generator, iterator.next());
+                generator.writeRaw('\n');
+
+                if (++exported % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        }
+        return exported;
+    }
+
+    private void writeBook(JsonGenerator generator, Book book) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", book.getId());
+        generator.writeStringField("name", book.getName());
+        generator.writeStringField("description", book.getDescription());
+        generator.writeNumberField("prize", book.getPrize());
+        generator.writeNumberField("pages", book.getPages());
+        writeDate(generator, "creationDate", book.getCreationDate());
+        writeDate(generator, "updateDate", book.getUpdateDate());
+        writeAuthor(generator, book.getAuthor());
+        writeCategory(generator, book.getCategory());
+        generator.writeEndObject();
+    }
+
+    private void writeAuthor(JsonGenerator generator, Author author) throws IOException {
+        generator.writeObjectFieldStart("author");
+        generator.writeNumberField("id", author.getId());
+        generator.writeStringField("name", author.getName());
+        generator.writeStringField("surname", author.getSurname());
+        generator.writeEndObject();
+    }
+
+    private void writeCategory(JsonGenerator generator, Category category) throws IOException {
+        generator.writeObjectFieldStart("category");
+        generator.writeNumberField("id", category.getId());
+        generator.writeStringField("name", category.getName());
+        generator.writeStringField("description", category.getDescription());
+        generator.writeEndObject();
+    }
+
+    private void writeDate(JsonGenerator generator, String field, LocalDateTime date) throws IOException {
+        if (date == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, date.toString());
+        }
+    }
+}
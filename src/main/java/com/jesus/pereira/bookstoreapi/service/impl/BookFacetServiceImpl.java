@@ -0,0 +1,59 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFacetsDTO;
+import com.jesus.pereira.bookstoreapi.search.BookFacetIndex;
+import com.jesus.pereira.bookstoreapi.search.BookFacetQuery;
+import com.jesus.pereira.bookstoreapi.search.BookFacetResult;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.service.BookFacetService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
+public class BookFacetServiceImpl implements BookFacetService {
+
+    private final BookFacetIndex bookFacetIndex;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookViewRepository bookViewRepository;
+
+    public BookFacetServiceImpl(BookFacetIndex bookFacetIndex, BookSearchIndex bookSearchIndex,
+                                BookViewRepository bookViewRepository) {
+        this.bookFacetIndex = bookFacetIndex;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookViewRepository = bookViewRepository;
+    }
+
+    /**
+     * Filters and facet counts come from the in-memory indexes; only the rows of the returned page are read
+     * from the book view. Name matches are ids only, so short names are not capped.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BookFacetsDTO findBooks(BookFacetQuery query, String continuationToken, int size) {
+        List<Long> nameMatches = query.getName() == null || query.getName().isBlank()
+                ? null
+                : bookSearchIndex.searchPrimaryField(query.getName(), Integer.MAX_VALUE);
+        BookFacetResult result = bookFacetIndex.query(query, nameMatches, ContinuationToken.decode(continuationToken),
+                ContinuationToken.boundedSize(size) + 1);
+        List<BookDTO> rows = result.getIds().isEmpty() ? List.of() : bookViewRepository.findBookViewsByIds(result.getIds());
+        KeysetPage<BookDTO> page = ContinuationToken.toPage(rows, size, BookDTO::getId);
+        return BookFacetsDTO.builder()
+                .total(result.getTotal())
+                .content(page.getContent())
+                .nextToken(page.getNextToken())
+                .authors(result.getAuthors())
+                .categories(result.getCategories())
+                .prizeRanges(result.getPrizeRanges())
+                .pageRanges(result.getPageRanges())
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.exception.InvalidSearchCriteriaException;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.pagination.SortedContinuationToken;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookSortField;
+import com.jesus.pereira.bookstoreapi.repository.BookSpecifications;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFilterCriteria;
+import com.jesus.pereira.bookstoreapi.service.BookFilterService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
+public class BookFilterServiceImpl implements BookFilterService {
+
+    private static final String UNKNOWN_SORT_EXCEPTION = "Books cannot be sorted by %s";
+    private static final String UNKNOWN_DIRECTION_EXCEPTION = "Unknown sort direction %s";
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+
+    public BookFilterServiceImpl(BookRepository bookRepository, BookMapper bookMapper) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<BookDTO> filterBooks(BookFilterCriteria criteria, String continuationToken, int size) {
+        BookSortField sortField = criteria.getSort() == null
+                ? BookSortField.ID
+                : BookSortField.of(criteria.getSort())
+                        .orElseThrow(() -> new InvalidSearchCriteriaException(String.format(UNKNOWN_SORT_EXCEPTION, criteria.getSort())));
+        Sort.Direction direction = direction(criteria.getDirection());
+        String sort = sortField.getAttribute() + "," + direction;
+
+        Specification<Book> specification = BookSpecifications.matching(criteria);
+        SortedContinuationToken.Position<Comparable<?>> position =
+                SortedContinuationToken.decode(continuationToken, sort, sortField::parse);
+        if (position != null) {
+            specification = specification.and(
+                    BookSpecifications.after(sortField, direction, position.getLastValue(), position.getLastId()));
+        }
+
+        int pageSize = ContinuationToken.boundedSize(size);
+        List<Book> books = bookRepository.findWithAuthorAndCategory(specification,
+                BookSpecifications.orderBy(sortField, direction), pageSize + 1);
+        List<BookDTO> content = books.stream().limit(pageSize).map(bookMapper::toBookDto).collect(Collectors.toList());
+        if (books.size() <= pageSize) {
+            return new KeysetPage<>(content, null);
+        }
+        Book last = books.get(pageSize - 1);
+        return new KeysetPage<>(content, SortedContinuationToken.encode(sort, last.getId(), sortField.valueOf(last)));
+    }
+
+    private static Sort.Direction direction(String direction) {
+        try {
+            return direction == null ? Sort.Direction.ASC : Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchCriteriaException(String.format(UNKNOWN_DIRECTION_EXCEPTION, direction));
+        }
+    }
+}
@@ -1,49 +1,86 @@
 package com.jesus.pereira.bookstoreapi.service.impl;
 
+import com.jesus.pereira.bookstoreapi.cache.BookResponseCache;
+import com.jesus.pereira.bookstoreapi.coalescing.Coalesced;
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
 import com.jesus.pereira.bookstoreapi.domain.Author;
 import com.jesus.pereira.bookstoreapi.domain.Book;
 import com.jesus.pereira.bookstoreapi.domain.Category;
 import com.jesus.pereira.bookstoreapi.exception.BookAlreadyExistsException;
 import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
-import com.jesus.pereira.bookstoreapi.mapper.AuthorMapper;
 import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
-import com.jesus.pereira.bookstoreapi.mapper.CategoryMapper;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
 import com.jesus.pereira.bookstoreapi.repository.BookRepository;
-import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
+import com.jesus.pereira.bookstoreapi.repository.PartialUpdateRepository;
 import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
-import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookPatchDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import com.jesus.pereira.bookstoreapi.search.BookFacetIndex;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.ExistingNameFilter;
 import com.jesus.pereira.bookstoreapi.service.AuthorService;
+import com.jesus.pereira.bookstoreapi.service.BookFetch;
 import com.jesus.pereira.bookstoreapi.service.BookService;
 import com.jesus.pereira.bookstoreapi.service.CategoryService;
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import com.jesus.pereira.bookstoreapi.statistics.CatalogStatistics;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
 public class BookServiceImpl implements BookService {
 
     private static final String BOOK_ALREADY_EXISTS_EXCEPTION = "Book with name %1$s ";
     private static final String NO_SUCH_ELEMENT_EXISTS_EXCEPTION = "No book exists with id %s";
+    private static final String NO_SUCH_AUTHOR_EXCEPTION = "No author exists with id %s";
+    private static final String NO_SUCH_CATEGORY_EXCEPTION = "No category exists with id %s";
+    private static final String ENTITY_NAME = "Book";
+    private static final int DELETE_CHUNK_SIZE = 1000;
 
     private final BookRepository bookRepository;
+    private final BookViewRepository bookViewRepository;
     private final BookMapper bookMapper;
     private final AuthorService authorService;
-    private final AuthorMapper authorMapper;
     private final CategoryService categoryService;
-    private final CategoryMapper categoryMapper;
+    private final BookSearchIndex bookSearchIndex;
+    private final PartialUpdateRepository partialUpdateRepository;
+    private final BookResponseCache bookResponseCache;
+    private final ExistingNameFilter existingNameFilter;
+    private final CatalogStatistics catalogStatistics;
+    private final BookFacetIndex bookFacetIndex;
 
 
     public BookServiceImpl(BookRepository bookRepository, BookMapper bookMapper, AuthorService authorService,
-                           AuthorMapper authorMapper, CategoryService categoryService, CategoryMapper categoryMapper){
+                           CategoryService categoryService, BookSearchIndex bookSearchIndex,
+                           PartialUpdateRepository partialUpdateRepository, BookResponseCache bookResponseCache,
+                           BookViewRepository bookViewRepository, ExistingNameFilter existingNameFilter,
+                           CatalogStatistics catalogStatistics, BookFacetIndex bookFacetIndex){
 
         this.bookRepository = bookRepository;
+        this.bookViewRepository = bookViewRepository;
         this.bookMapper = bookMapper;
         this.authorService = authorService;
-        this.authorMapper = authorMapper;
         this.categoryService = categoryService;
-        this.categoryMapper = categoryMapper;
+        this.bookSearchIndex = bookSearchIndex;
+        this.partialUpdateRepository = partialUpdateRepository;
+        this.bookResponseCache = bookResponseCache;
+        this.existingNameFilter = existingNameFilter;
+        this.catalogStatistics = catalogStatistics;
+        this.bookFacetIndex = bookFacetIndex;
     }
 
     @Override
@@ -52,82 +89,371 @@ public class BookServiceImpl implements BookService {
                 .orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION,id)));
     }
 
+    @Override
+    public Book findBookById(Long id, BookFetch fetch) {
+        if (!withRelations(fetch)) {
+            return findBookById(id);
+        }
+        return bookRepository.findWithAuthorAndCategoryById(id)
+                .orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, id)));
+    }
+
+    @Override
+    public List<Book> findBooksByIds(Collection<Long> ids) {
+        return findBooksByIds(ids, BookFetch.BOOK_ONLY);
+    }
+
+    @Override
+    public List<Book> findBooksByIds(Collection<Long> ids, BookFetch fetch) {
+        return findBooksInOrder(ids, fetch);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public VersionDTO findBookVersion(Long id) {
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, id)));
+    }
+
     @Override
     public List<Book> findAllBooks() {
-        return bookRepository.findAll();
+        return findAllBooks(BookFetch.BOOK_ONLY);
+    }
+
+    @Override
+    public List<Book> findAllBooks(BookFetch fetch) {
+        return withRelations(fetch) ? bookRepository.findWithAuthorAndCategoryBy() : bookRepository.findAll();
+    }
+
+    @Override
+    public KeysetPage<Book> findAllBooks(String continuationToken, int size) {
+        return findAllBooks(continuationToken, size, BookFetch.BOOK_ONLY);
+    }
+
+    @Override
+    public KeysetPage<Book> findAllBooks(String continuationToken, int size, BookFetch fetch) {
+        Long lastId = ContinuationToken.decode(continuationToken);
+        List<Book> books = withRelations(fetch)
+                ? bookRepository.findWithAuthorAndCategoryByIdGreaterThanOrderByIdAsc(lastId, ContinuationToken.lookAhead(size))
+                : bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, ContinuationToken.lookAhead(size));
+        return ContinuationToken.toPage(books, size, Book::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<BookDTO> findAllBookViews(String continuationToken, int size) {
+        List<BookDTO> books = bookViewRepository.findBookViewsAfter(ContinuationToken.decode(continuationToken),
+                ContinuationToken.lookAhead(size));
+        return ContinuationToken.toPage(books, size, BookDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public List<BookDTO> findBookViewsByAuthorId(Long authorId) {
+        return bookViewRepository.findBookViewsByAuthorId(authorId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public List<BookDTO> findBookViewsByCategoryId(Long categoryId) {
+        return bookViewRepository.findBookViewsByCategoryId(categoryId);
     }
 
     @Override
     public List<Book> findBooksByNameLike(String name) {
-        return bookRepository.findByNameContainingIgnoreCase(name);
+        return findBooksByNameLike(name, BookFetch.BOOK_ONLY);
+    }
+
+    @Override
+    public List<Book> findBooksByNameLike(String name, BookFetch fetch) {
+        return findBooksInOrder(bookSearchIndex.searchPrimaryField(name), fetch);
+    }
+
+    @Override
+    public List<Book> searchBooks(String query, int limit) {
+        return searchBooks(query, limit, BookFetch.BOOK_ONLY);
+    }
+
+    @Override
+    public List<Book> searchBooks(String query, int limit, BookFetch fetch) {
+        return findBooksInOrder(bookSearchIndex.search(query, limit), fetch);
     }
 
     @Override
     public List<Book> findBooksByAuthorId(Long authorId) {
-        return bookRepository.findByAuthorId(authorId);
+        return findBooksByAuthorId(authorId, BookFetch.BOOK_ONLY);
+    }
+
+    @Override
+    public List<Book> findBooksByAuthorId(Long authorId, BookFetch fetch) {
+        return withRelations(fetch)
+                ? bookRepository.findWithAuthorAndCategoryByAuthorId(authorId)
+                : bookRepository.findByAuthorId(authorId);
     }
 
     @Override
     public List<Book> findBooksByCategoryId(Long categoryId) {
-        return bookRepository.findByCategoryId(categoryId);
+        return findBooksByCategoryId(categoryId, BookFetch.BOOK_ONLY);
+    }
+
+    @Override
+    public List<Book> findBooksByCategoryId(Long categoryId, BookFetch fetch) {
+        return withRelations(fetch)
+                ? bookRepository.findWithAuthorAndCategoryByCategoryId(categoryId)
+                : bookRepository.findByCategoryId(categoryId);
     }
 
     @Override
+    @Transactional
     public Book createBook(BookDTO bookDTO) {
-        bookRepository.findByNameIgnoreCase(bookDTO.getName())
-            .ifPresent(error -> {
-                throw new BookAlreadyExistsException(String.format(BOOK_ALREADY_EXISTS_EXCEPTION, bookDTO.getName()));
-            });
-        return bookRepository.save(buildBook(bookDTO, null));
+        if (existingNameFilter.mightContainBook(bookDTO.getName())) {
+            bookRepository.findByNameIgnoreCase(bookDTO.getName())
+                .ifPresent(error -> {
+                    throw alreadyExists(bookDTO.getName());
+                });
+        }
+        Book bookToPersist = buildBook(bookDTO);
+        Book book = ConstraintViolations.enforce(() -> bookRepository.saveAndFlush(bookToPersist),
+                ConstraintViolations.BOOK_NAME, () -> alreadyExists(bookDTO.getName()));
+        bookViewRepository.refreshBooks(List.of(book.getId()));
+        BookFigures figures = BookFigures.of(book);
+        AfterCommit.run(() -> {
+            existingNameFilter.addBook(book.getName());
+            catalogStatistics.bookSaved(figures);
+            bookFacetIndex.index(figures);
+            bookSearchIndex.index(book);
+            bookResponseCache.evictBookLists(book.getAuthor().getId(), book.getCategory().getId());
+        });
+        return book;
     }
 
     @Override
-    public Book updateBook(BookDTO bookRequest, Long bookId) {
-        Book bookToUpdate = buildBook(bookRequest, bookId);
-        return bookRepository.findById(bookId)
-                .map(book -> bookRepository.save(bookToUpdate))
-                .orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, bookId)));
+    @Transactional
+    public Book updateBook(BookDTO bookRequest, Long bookId, Long expectedVersion) {
+        Book book = findBookToUpdate(bookId, expectedVersion);
+        VersionCheck.verify(ENTITY_NAME, bookId, book.getVersion(), expectedVersion);
+        bookMapper.updateBook(bookRequest, book);
+        if (!Objects.equals(book.getAuthor().getId(), bookRequest.getAuthorId())) {
+            book.setAuthor(authorService.findAuthorById(bookRequest.getAuthorId()));
+        }
+        if (!Objects.equals(book.getCategory().getId(), bookRequest.getCategoryId())) {
+            book.setCategory(categoryService.findCategoryById(bookRequest.getCategoryId()));
+        }
+        book.setUpdateDate(LocalDateTime.now());
+        ConstraintViolations.enforce(bookRepository::flush, ConstraintViolations.BOOK_NAME, () -> alreadyExists(book.getName()));
+        bookViewRepository.refreshBooks(List.of(bookId));
+        BookFigures figures = BookFigures.of(book);
+        AfterCommit.run(() -> {
+            existingNameFilter.addBook(book.getName());
+            catalogStatistics.bookSaved(figures);
+            bookFacetIndex.index(figures);
+            bookSearchIndex.index(book);
+            bookResponseCache.evictBook(bookId);
+            bookResponseCache.evictBookLists(book.getAuthor().getId(), book.getCategory().getId());
+        });
+        return book;
+    }
+
+    /**
+     * One UPDATE of the given columns. A new author or category is set by reference, so a missing one is reported
+     * through the foreign key instead of being loaded first, and the search index is patched from the request
+     * instead of reading the book back. The row is only locked and read when the statistics figures change; the
+     * lock makes the new figures those of the version after the locked one.
+     */
+    @Override
+    @Transactional
+    public void patchBook(Long bookId, BookPatchDTO changes, Long expectedVersion) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        if (changes.getName() != null) {
+            columns.put("name", changes.getName());
+        }
+        if (changes.getDescription() != null) {
+            columns.put("description", changes.getDescription());
+        }
+        if (changes.getPrize() != null) {
+            columns.put("prize", changes.getPrize());
+        }
+        if (changes.getPages() != null) {
+            columns.put("pages", changes.getPages());
+        }
+        if (changes.getAuthorId() != null) {
+            columns.put("author", partialUpdateRepository.reference(Author.class, changes.getAuthorId()));
+        }
+        if (changes.getCategoryId() != null) {
+            columns.put("category", partialUpdateRepository.reference(Category.class, changes.getCategoryId()));
+        }
+        columns.put("updateDate", LocalDateTime.now());
+        Optional<BookFigures> before = changesFigures(changes)
+                ? bookRepository.findFiguresForUpdateById(bookId)
+                : Optional.empty();
+        int updated = updateColumns(bookId, expectedVersion, columns, changes);
+        if (updated == 0) {
+            throw missingOrStale(bookId, expectedVersion);
+        }
+        bookViewRepository.refreshBooks(List.of(bookId));
+        Optional<BookFigures> after = before.map(figures -> patched(figures, changes));
+        Book indexedChanges = Book.builder()
+                .name(changes.getName())
+                .description(changes.getDescription())
+                .build();
+        AfterCommit.run(() -> {
+            existingNameFilter.addBook(changes.getName());
+            after.ifPresent(figures -> {
+                catalogStatistics.bookSaved(figures);
+                bookFacetIndex.index(figures);
+            });
+            if (changes.getName() != null || changes.getDescription() != null) {
+                bookSearchIndex.patch(bookId, indexedChanges);
+            }
+            bookResponseCache.evictBook(bookId);
+            bookResponseCache.evictBookLists(changes.getAuthorId(), changes.getCategoryId());
+            before.ifPresent(figures -> bookResponseCache.evictBookLists(figures.getAuthorId(), figures.getCategoryId()));
+        });
     }
 
     @Override
     @Transactional
     public void deleteBook(Long bookId) {
-         bookRepository.findById(bookId)
-                .ifPresentOrElse(
-                        this::removeBookFromParentsAndDelete,
-                        () -> {
-                            throw new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, bookId));
-                        }
-                );
+        if (bookRepository.deleteBookById(bookId) == 0) {
+            throw new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, bookId));
+        }
+        bookViewRepository.deleteViewsByIds(List.of(bookId));
+        AfterCommit.run(() -> {
+            catalogStatistics.bookRemoved(bookId);
+            bookFacetIndex.remove(bookId);
+            bookSearchIndex.remove(bookId);
+            bookResponseCache.evictBook(bookId);
+        });
+    }
+
+    @Override
+    @Transactional
+    public int deleteBooks(Collection<Long> bookIds) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(bookIds));
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+            deleted += bookRepository.deleteBooksByIds(chunk);
+            bookViewRepository.deleteViewsByIds(chunk);
+        }
+        AfterCommit.run(() -> {
+            ids.forEach(id -> {
+                catalogStatistics.bookRemoved(id);
+                bookFacetIndex.remove(id);
+                bookSearchIndex.remove(id);
+            });
+            bookResponseCache.evictBooks(ids);
+        });
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteBooksByAuthorId(Long authorId) {
+        List<Long> ids = bookRepository.findIdsByAuthorId(authorId);
+        int deleted = bookRepository.deleteBooksByAuthorId(authorId);
+        bookViewRepository.deleteViewsByAuthorId(authorId);
+        AfterCommit.run(() -> {
+            ids.forEach(id -> {
+                catalogStatistics.bookRemoved(id);
+                bookFacetIndex.remove(id);
+                bookSearchIndex.remove(id);
+            });
+            bookResponseCache.evictAuthor(authorId);
+        });
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteBooksByCategoryId(Long categoryId) {
+        List<Long> ids = bookRepository.findIdsByCategoryId(categoryId);
+        int deleted = bookRepository.deleteBooksByCategoryId(categoryId);
+        bookViewRepository.deleteViewsByCategoryId(categoryId);
+        AfterCommit.run(() -> {
+            ids.forEach(id -> {
+                catalogStatistics.bookRemoved(id);
+                bookFacetIndex.remove(id);
+                bookSearchIndex.remove(id);
+            });
+            bookResponseCache.evictCategory(categoryId);
+        });
+        return deleted;
+    }
+
+    private int updateColumns(Long bookId, Long expectedVersion, Map<String, Object> columns, BookPatchDTO changes) {
+        try {
+            return partialUpdateRepository.update(Book.class, bookId, expectedVersion, columns);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isViolated(ex, ConstraintViolations.BOOK_NAME)) {
+                throw alreadyExists(changes.getName());
+            }
+            if (ConstraintViolations.isViolated(ex, ConstraintViolations.BOOK_AUTHOR)) {
+                throw new NoSuchElementExistsException(String.format(NO_SUCH_AUTHOR_EXCEPTION, changes.getAuthorId()));
+            }
+            if (ConstraintViolations.isViolated(ex, ConstraintViolations.BOOK_CATEGORY)) {
+                throw new NoSuchElementExistsException(String.format(NO_SUCH_CATEGORY_EXCEPTION, changes.getCategoryId()));
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * A PUT without If-Match must not fail on a concurrent write, so it waits for the row lock and updates the
+     * version it then reads; a conditional PUT reports any concurrent write as stale.
+     */
+    private Book findBookToUpdate(Long bookId, Long expectedVersion) {
+        if (expectedVersion != null) {
+            return findBookById(bookId);
+        }
+        return bookRepository.findForUpdateById(bookId)
+                .orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, bookId)));
+    }
+
+    private static boolean changesFigures(BookPatchDTO changes) {
+        return changes.getPrize() != null || changes.getPages() != null
+                || changes.getAuthorId() != null || changes.getCategoryId() != null;
+    }
+
+    private static BookFigures patched(BookFigures figures, BookPatchDTO changes) {
+        return new BookFigures(figures.getId(),
+                changes.getAuthorId() != null ? changes.getAuthorId() : figures.getAuthorId(),
+                changes.getCategoryId() != null ? changes.getCategoryId() : figures.getCategoryId(),
+                changes.getPrize() != null ? changes.getPrize() : figures.getPrize(),
+                changes.getPages() != null ? changes.getPages() : figures.getPages(),
+                figures.getVersion() + 1);
+    }
+
+    private static BookAlreadyExistsException alreadyExists(String name) {
+        return new BookAlreadyExistsException(String.format(BOOK_ALREADY_EXISTS_EXCEPTION, name));
     }
 
-    private void removeBookFromParentsAndDelete(Book book) {
-        removeBookFromCategory(book);
-        removeBookFromAuthor(book);
-        bookRepository.deleteById(book.getId());
+    private RuntimeException missingOrStale(Long bookId, Long expectedVersion) {
+        if (expectedVersion != null && bookRepository.existsById(bookId)) {
+            return VersionCheck.stale(ENTITY_NAME, bookId, expectedVersion);
+        }
+        return new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, bookId));
     }
 
-    private void removeBookFromCategory(Book book) {
-        Category category = categoryService.findCategoryById(book.getCategory().getId());
-        category.getBooks().remove(book);
-        CategoryDTO categoryDTO = categoryMapper.toCategoryDto(category);
-        categoryService.updateCategory(categoryDTO, category.getId());
+    private List<Book> findBooksInOrder(Collection<Long> ids, BookFetch fetch) {
+        return IdChunks.findInOrder(ids, withRelations(fetch)
+                ? bookRepository::findWithAuthorAndCategoryByIdIn
+                : bookRepository::findAllById, Book::getId);
     }
 
-    private void removeBookFromAuthor(Book book) {
-        Author author = authorService.findAuthorById(book.getAuthor().getId());
-        author.getBooks().remove(book);
-        AuthorDTO authorDTO = authorMapper.toAuthorDto(author);
-        authorService.updateAuthor(authorDTO, author.getId());
+    private static boolean withRelations(BookFetch fetch) {
+        return fetch == BookFetch.WITH_AUTHOR_AND_CATEGORY;
     }
 
-    private Book buildBook(BookDTO bookDTO, Long id) {
-        Book book = id != null ? bookMapper.toBookUpdate(bookDTO, id) : bookMapper.toBook(bookDTO);
+    private Book buildBook(BookDTO bookDTO) {
+        Book book = bookMapper.toBook(bookDTO);
 
-        book.setAuthor(authorService.findAuthorById(bookDTO.getId()));
+        book.setAuthor(authorService.findAuthorById(bookDTO.getAuthorId()));
         book.setCategory(categoryService.findCategoryById(bookDTO.getCategoryId()));
         book.setCreationDate(LocalDateTime.now());
-        book.setUpdateDate(id != null ? LocalDateTime.now() : null);
 
         return book;
     }
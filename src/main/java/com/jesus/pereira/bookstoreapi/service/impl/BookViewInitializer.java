@@ -0,0 +1,28 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills {@code book_view} from the normalized tables on startup so rows written outside the
+ * services (scripts, imports) are visible to the list endpoints.
+ */
+@Component
+public class BookViewInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookViewInitializer.class);
+
+    private final BookViewRepository bookViewRepository;
+
+    public BookViewInitializer(BookViewRepository bookViewRepository) {
+        this.bookViewRepository = bookViewRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        logger.info("Book view rebuilt: {} books", bookViewRepository.rebuild());
+    }
+}
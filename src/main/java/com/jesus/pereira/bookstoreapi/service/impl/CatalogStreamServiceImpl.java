@@ -0,0 +1,83 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
+import com.jesus.pereira.bookstoreapi.repository.ReactiveAuthorRepository;
+import com.jesus.pereira.bookstoreapi.repository.ReactiveBookRepository;
+import com.jesus.pereira.bookstoreapi.repository.ReactiveCategoryRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import com.jesus.pereira.bookstoreapi.service.CatalogStreamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streams the catalog over R2DBC. {@code @Timed} would only time the assembly of the {@link Flux}, so each stream
+ * is timed from subscription until it completes, fails or is cancelled, under the same service timer and tags.
+ */
+@Service
+public class CatalogStreamServiceImpl implements CatalogStreamService {
+
+    private static final int ROWS_IN_FLIGHT = 256;
+
+    private final ReactiveBookRepository reactiveBookRepository;
+    private final ReactiveAuthorRepository reactiveAuthorRepository;
+    private final ReactiveCategoryRepository reactiveCategoryRepository;
+    private final MeterRegistry meterRegistry;
+
+    public CatalogStreamServiceImpl(ReactiveBookRepository reactiveBookRepository,
+                                    ReactiveAuthorRepository reactiveAuthorRepository,
+                                    ReactiveCategoryRepository reactiveCategoryRepository,
+                                    MeterRegistry meterRegistry) {
+        this.reactiveBookRepository = reactiveBookRepository;
+        this.reactiveAuthorRepository = reactiveAuthorRepository;
+        this.reactiveCategoryRepository = reactiveCategoryRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Flux<BookDTO> streamBooks() {
+        return timed("streamBooks", reactiveBookRepository.findAllBookViews());
+    }
+
+    @Override
+    public Flux<BookDTO> streamBooksByAuthorId(Long authorId) {
+        return timed("streamBooksByAuthorId", reactiveBookRepository.findBookViewsByAuthorId(authorId));
+    }
+
+    @Override
+    public Flux<BookDTO> streamBooksByCategoryId(Long categoryId) {
+        return timed("streamBooksByCategoryId", reactiveBookRepository.findBookViewsByCategoryId(categoryId));
+    }
+
+    @Override
+    public Flux<AuthorDTO> streamAuthors() {
+        return timed("streamAuthors", reactiveAuthorRepository.findAllAuthorViews());
+    }
+
+    @Override
+    public Flux<CategoryDTO> streamCategories() {
+        return timed("streamCategories", reactiveCategoryRepository.findAllCategoryViews());
+    }
+
+    private <T> Flux<T> timed(String method, Flux<T> rows) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return rows.limitRate(ROWS_IN_FLIGHT)
+                    .doOnComplete(() -> stop(sample, method, "none"))
+                    .doOnError(ex -> stop(sample, method, ex.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, method, "none"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String method, String exception) {
+        sample.stop(Timer.builder(MetricsConfiguration.SERVICE_TIMER)
+                .tag("class", CatalogStreamServiceImpl.class.getName())
+                .tag("method", method)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
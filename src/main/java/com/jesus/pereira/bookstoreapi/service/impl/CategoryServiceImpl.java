@@ -1,33 +1,74 @@
 package com.jesus.pereira.bookstoreapi.service.impl;
 
+import com.jesus.pereira.bookstoreapi.cache.BookResponseCache;
+import com.jesus.pereira.bookstoreapi.coalescing.Coalesced;
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
 import com.jesus.pereira.bookstoreapi.domain.Category;
 import com.jesus.pereira.bookstoreapi.exception.CategoryAlreadyExistsException;
 import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
 import com.jesus.pereira.bookstoreapi.mapper.AuthorMapper;
 import com.jesus.pereira.bookstoreapi.mapper.CategoryMapper;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
 import com.jesus.pereira.bookstoreapi.repository.CategoryRepository;
 import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryPatchDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import com.jesus.pereira.bookstoreapi.search.BookFacetIndex;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.CategorySearchIndex;
+import com.jesus.pereira.bookstoreapi.search.ExistingNameFilter;
 import com.jesus.pereira.bookstoreapi.service.CategoryService;
+import com.jesus.pereira.bookstoreapi.statistics.CatalogStatistics;
+import io.micrometer.core.annotation.Timed;
 import lombok.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 @Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
 public class CategoryServiceImpl implements CategoryService {
 
     private static final String CATEGORY_ALREADY_EXISTS_EXCEPTION = "Category with name %1$s ";
     private static final String NO_SUCH_ELEMENT_EXISTS_EXCEPTION = "No category exists with id %s";
+    private static final String ENTITY_NAME = "Category";
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CategorySearchIndex categorySearchIndex;
+    private final BookRepository bookRepository;
+    private final BookViewRepository bookViewRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookResponseCache bookResponseCache;
+    private final ExistingNameFilter existingNameFilter;
+    private final CatalogStatistics catalogStatistics;
+    private final BookFacetIndex bookFacetIndex;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
+                               CategorySearchIndex categorySearchIndex,
+                               BookRepository bookRepository, BookSearchIndex bookSearchIndex,
+                               BookResponseCache bookResponseCache, BookViewRepository bookViewRepository,
+                               ExistingNameFilter existingNameFilter, CatalogStatistics catalogStatistics,
+                               BookFacetIndex bookFacetIndex) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.categorySearchIndex = categorySearchIndex;
+        this.bookRepository = bookRepository;
+        this.bookViewRepository = bookViewRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookResponseCache = bookResponseCache;
+        this.existingNameFilter = existingNameFilter;
+        this.catalogStatistics = catalogStatistics;
+        this.bookFacetIndex = bookFacetIndex;
     }
 
     @Override
@@ -36,40 +77,138 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, id)));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public VersionDTO findCategoryVersion(Long id) {
+        return categoryRepository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, id)));
+    }
+
+    @Override
+    public List<Category> findCategoriesByIds(Collection<Long> ids) {
+        return IdChunks.findInOrder(ids, categoryRepository::findAllById, Category::getId);
+    }
+
     @Override
     public List<Category> findAllCategories() {
         return categoryRepository.findAll();
     }
 
+    @Override
+    public KeysetPage<Category> findAllCategories(String continuationToken, int size) {
+        List<Category> categories = categoryRepository.findByIdGreaterThanOrderByIdAsc(ContinuationToken.decode(continuationToken),
+                ContinuationToken.lookAhead(size));
+        return ContinuationToken.toPage(categories, size, Category::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<CategoryDTO> findAllCategoryViews(String continuationToken, int size) {
+        List<CategoryDTO> categories = categoryRepository.findCategoryViewsAfter(ContinuationToken.decode(continuationToken),
+                ContinuationToken.lookAhead(size));
+        return ContinuationToken.toPage(categories, size, CategoryDTO::getId);
+    }
+
     @Override
     public List<Category> findCategoriesByNameLike(String name) {
-        return categoryRepository.findByNameContainingIgnoreCase(name);
+        return IdChunks.findInOrder(categorySearchIndex.searchPrimaryField(name), categoryRepository::findAllById, Category::getId);
+    }
+
+    @Override
+    public List<Category> searchCategories(String query, int limit) {
+        return IdChunks.findInOrder(categorySearchIndex.search(query, limit), categoryRepository::findAllById, Category::getId);
     }
 
     @Override
     public Category createCategory(CategoryDTO categoryDTO) {
-        categoryRepository.findByNameIgnoreCase(categoryDTO.getName())
-                .ifPresent(err -> {
-                    throw new CategoryAlreadyExistsException(String.format(CATEGORY_ALREADY_EXISTS_EXCEPTION, categoryDTO.getName()));
-                });
+        if (existingNameFilter.mightContainCategory(categoryDTO.getName())) {
+            categoryRepository.findByNameIgnoreCase(categoryDTO.getName())
+                    .ifPresent(err -> {
+                        throw alreadyExists(categoryDTO.getName());
+                    });
+        }
 
         Category categoryToPersist = categoryMapper.toCategory(categoryDTO);
-        return categoryRepository.save(categoryToPersist);
+        categoryToPersist.setUpdateDate(LocalDateTime.now());
+        Category category = ConstraintViolations.enforce(() -> categoryRepository.save(categoryToPersist),
+                ConstraintViolations.CATEGORY_NAME, () -> alreadyExists(categoryDTO.getName()));
+        AfterCommit.run(() -> {
+            existingNameFilter.addCategory(category.getName());
+            categorySearchIndex.index(category);
+        });
+        return category;
     }
 
     @Override
-    public Category updateCategory(CategoryDTO categoryDTO, Long categoryId) {
-        return categoryRepository.findById(categoryId)
-                .map(category -> categoryRepository.save(categoryMapper.toCategoryUpdate(categoryDTO, categoryId)))
-                .orElseThrow(() -> new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, categoryId)));
+    @Transactional
+    public Category updateCategory(CategoryDTO categoryDTO, Long categoryId, Long expectedVersion) {
+        Category category = findCategoryById(categoryId);
+        VersionCheck.verify(ENTITY_NAME, categoryId, category.getVersion(), expectedVersion);
+        categoryMapper.updateCategory(categoryDTO, category);
+        category.setUpdateDate(LocalDateTime.now());
+        ConstraintViolations.enforce(categoryRepository::flush, ConstraintViolations.CATEGORY_NAME,
+                () -> alreadyExists(category.getName()));
+        bookViewRepository.refreshCategory(categoryId);
+        AfterCommit.run(() -> {
+            existingNameFilter.addCategory(category.getName());
+            categorySearchIndex.index(category);
+            bookResponseCache.evictCategory(categoryId);
+        });
+        return category;
     }
 
+    /**
+     * Patches the managed entity instead of a bulk update, which would evict the whole category cache region. The
+     * entity is usually served from the second-level cache and {@code @DynamicUpdate} flushes a single UPDATE
+     * of the changed columns, refreshing only this category's cache entry.
+     */
     @Override
+    @Transactional
+    public void patchCategory(Long categoryId, CategoryPatchDTO changes, Long expectedVersion) {
+        Category category = findCategoryById(categoryId);
+        VersionCheck.verify(ENTITY_NAME, categoryId, category.getVersion(), expectedVersion);
+        if (changes.getName() != null) {
+            category.setName(changes.getName());
+        }
+        if (changes.getDescription() != null) {
+            category.setDescription(changes.getDescription());
+        }
+        category.setUpdateDate(LocalDateTime.now());
+        ConstraintViolations.enforce(categoryRepository::flush, ConstraintViolations.CATEGORY_NAME,
+                () -> alreadyExists(changes.getName()));
+        bookViewRepository.refreshCategory(categoryId);
+        AfterCommit.run(() -> {
+            if (changes.getName() != null) {
+                existingNameFilter.addCategory(category.getName());
+                categorySearchIndex.index(category);
+            }
+            bookResponseCache.evictCategory(categoryId);
+        });
+    }
+
+    @Override
+    @Transactional
     public void deleteCategory(Long categoryId) {
-        categoryRepository.findById(categoryId)
-                .ifPresentOrElse((category) -> categoryRepository.deleteById(categoryId),
-                        () -> {
-                            throw new NoSuchElementExistsException(String.format(NO_SUCH_ELEMENT_EXISTS_EXCEPTION, categoryId));
-                        });
+        Category category = findCategoryById(categoryId);
+        List<Long> bookIds = bookRepository.findIdsByCategoryId(categoryId);
+        bookRepository.deleteBooksByCategoryId(categoryId);
+        bookViewRepository.deleteViewsByCategoryId(categoryId);
+        categoryRepository.delete(category);
+        AfterCommit.run(() -> {
+            bookIds.forEach(bookId -> {
+                catalogStatistics.bookRemoved(bookId);
+                bookFacetIndex.remove(bookId);
+                bookSearchIndex.remove(bookId);
+            });
+            catalogStatistics.categoryRemoved(categoryId);
+            categorySearchIndex.remove(categoryId);
+            bookResponseCache.evictCategory(categoryId);
+        });
     }
+
+    private static CategoryAlreadyExistsException alreadyExists(String name) {
+        return new CategoryAlreadyExistsException(String.format(CATEGORY_ALREADY_EXISTS_EXCEPTION, name));
+    }
+
 }
@@ -0,0 +1,51 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Runs writes guarded by a unique index or foreign key and turns a violation of that constraint into the domain
+ * exception.
+ */
+final class ConstraintViolations {
+
+    static final String BOOK_NAME = "ux_book_name";
+    static final String AUTHOR_NAME_SURNAME = "ux_author_name_surname";
+    static final String CATEGORY_NAME = "ux_category_name";
+    static final String BOOK_AUTHOR = "fk_book_author";
+    static final String BOOK_CATEGORY = "fk_book_category";
+
+    private ConstraintViolations() {
+    }
+
+    static <T> T enforce(Supplier<T> write, String constraintName, Supplier<? extends RuntimeException> conflict) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException ex) {
+            throw isViolated(ex, constraintName) ? conflict.get() : ex;
+        }
+    }
+
+    static void enforce(Runnable write, String constraintName, Supplier<? extends RuntimeException> conflict) {
+        enforce(() -> {
+            write.run();
+            return null;
+        }, constraintName, conflict);
+    }
+
+    static boolean isViolated(DataIntegrityViolationException ex, String constraintName) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                ConstraintViolationException violation = (ConstraintViolationException) cause;
+                String violated = violation.getConstraintName() != null
+                        ? violation.getConstraintName()
+                        : violation.getSQLException().getMessage();
+                return violated != null && violated.toLowerCase(Locale.ROOT).contains(constraintName);
+            }
+        }
+        return false;
+    }
+}
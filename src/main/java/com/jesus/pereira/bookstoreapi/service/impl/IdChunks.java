@@ -0,0 +1,36 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads entities by id with one {@code IN} query per chunk of ids and returns them in request order.
+ */
+final class IdChunks {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private IdChunks() {
+    }
+
+    /**
+     * Duplicate ids are loaded and returned once; ids with no entity are left out.
+     */
+    static <T> List<T> findInOrder(Collection<Long> ids, Function<List<Long>, Collection<T>> loader,
+                                   Function<T, Long> idExtractor) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, T> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + CHUNK_SIZE, distinct.size()));
+            loader.apply(chunk).forEach(entity -> found.put(idExtractor.apply(entity), entity));
+        }
+        return distinct.stream().map(found::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,109 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
+import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
+import com.jesus.pereira.bookstoreapi.repository.AuthorRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.CategoryRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookStatisticsDTO;
+import com.jesus.pereira.bookstoreapi.service.StatisticsService;
+import com.jesus.pereira.bookstoreapi.statistics.BookAggregate;
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import com.jesus.pereira.bookstoreapi.statistics.CatalogStatistics;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves per-author and per-category statistics from {@link CatalogStatistics} without querying. The aggregates
+ * are rebuilt from the figures of every book on startup and on every reconciliation.
+ */
+@Service
+@Timed(value = MetricsConfiguration.SERVICE_TIMER, histogram = true)
+public class StatisticsServiceImpl implements StatisticsService, SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsServiceImpl.class);
+    private static final String NO_SUCH_AUTHOR_EXISTS_EXCEPTION = "No author exists with id %s";
+    private static final String NO_SUCH_CATEGORY_EXISTS_EXCEPTION = "No category exists with id %s";
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CategoryRepository categoryRepository;
+    private final CatalogStatistics catalogStatistics;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public StatisticsServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+                                 CategoryRepository categoryRepository, CatalogStatistics catalogStatistics,
+                                 PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.categoryRepository = categoryRepository;
+        this.catalogStatistics = catalogStatistics;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public BookStatisticsDTO findAuthorStatistics(Long authorId) {
+        BookAggregate aggregate = catalogStatistics.author(authorId);
+        if (aggregate == null) {
+            if (!authorRepository.existsById(authorId)) {
+                throw new NoSuchElementExistsException(String.format(NO_SUCH_AUTHOR_EXISTS_EXCEPTION, authorId));
+            }
+            return new BookAggregate(authorId).toDto();
+        }
+        return aggregate.toDto();
+    }
+
+    @Override
+    public BookStatisticsDTO findCategoryStatistics(Long categoryId) {
+        BookAggregate aggregate = catalogStatistics.category(categoryId);
+        if (aggregate == null) {
+            if (!categoryRepository.existsById(categoryId)) {
+                throw new NoSuchElementExistsException(String.format(NO_SUCH_CATEGORY_EXISTS_EXCEPTION, categoryId));
+            }
+            return new BookAggregate(categoryId).toDto();
+        }
+        return aggregate.toDto();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = "${bookstore.statistics.reconcile-interval:PT5M}",
+            initialDelayString = "${bookstore.statistics.reconcile-interval:PT5M}")
+    public void reconcile() {
+        catalogStatistics.beginRebuild();
+        List<BookFigures> snapshot = new ArrayList<>();
+        long lastId = 0L;
+        List<BookFigures> chunk;
+        do {
+            chunk = bookRepository.findFiguresAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+            snapshot.addAll(chunk);
+            if (!chunk.isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        catalogStatistics.finishRebuild(snapshot);
+        logger.info("Statistics reconciled: {} books", snapshot.size());
+    }
+
+    /**
+     * Runs the first reconciliation in a read-only transaction of its own; calling {@link #reconcile()} on
+     * {@code this} would skip the transactional proxy.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        readOnlyTransaction.executeWithoutResult(status -> reconcile());
+    }
+}
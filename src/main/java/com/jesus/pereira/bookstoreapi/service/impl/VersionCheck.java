@@ -0,0 +1,23 @@
+package com.jesus.pereira.bookstoreapi.service.impl;
+
+import com.jesus.pereira.bookstoreapi.exception.StaleVersionException;
+
+import java.util.Objects;
+
+final class VersionCheck {
+
+    static final String STALE_VERSION_EXCEPTION = "%1$s with id %2$s was modified, expected version %3$s";
+
+    private VersionCheck() {
+    }
+
+    static void verify(String entityName, Long id, Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !Objects.equals(currentVersion, expectedVersion)) {
+            throw stale(entityName, id, expectedVersion);
+        }
+    }
+
+    static StaleVersionException stale(String entityName, Long id, Long expectedVersion) {
+        return new StaleVersionException(String.format(STALE_VERSION_EXCEPTION, entityName, id, expectedVersion));
+    }
+}
@@ -0,0 +1,60 @@
+package com.jesus.pereira.bookstoreapi.statistics;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.BookStatisticsDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Running count, sums and prize extremes of the books of one author or category. Prizes are kept as a sorted
+ * multiset, so removing the current minimum or maximum leaves the next one in place and every change is exact.
+ */
+public class BookAggregate {
+
+    private static final int AVERAGE_SCALE = 2;
+
+    private final Long groupId;
+    private final NavigableMap<BigDecimal, Integer> prizes = new TreeMap<>();
+    private long bookCount;
+    private BigDecimal prizeSum = BigDecimal.ZERO;
+    private long pageSum;
+
+    public BookAggregate(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public synchronized void add(BookFigures book) {
+        bookCount++;
+        pageSum += book.getPages();
+        if (book.getPrize() != null) {
+            prizeSum = prizeSum.add(book.getPrize());
+            prizes.merge(book.getPrize(), 1, Integer::sum);
+        }
+    }
+
+    public synchronized void remove(BookFigures book) {
+        bookCount--;
+        pageSum -= book.getPages();
+        if (book.getPrize() != null) {
+            prizeSum = prizeSum.subtract(book.getPrize());
+            prizes.computeIfPresent(book.getPrize(), (prize, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    public synchronized BookStatisticsDTO toDto() {
+        return BookStatisticsDTO.builder()
+                .bookCount(bookCount)
+                .minPrize(prizes.isEmpty() ? null : prizes.firstKey())
+                .maxPrize(prizes.isEmpty() ? null : prizes.lastKey())
+                .averagePrize(bookCount == 0 ? null
+                        : prizeSum.divide(BigDecimal.valueOf(bookCount), AVERAGE_SCALE, RoundingMode.HALF_UP))
+                .totalPages(pageSum)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.jesus.pereira.bookstoreapi.statistics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Decides which book changes an in-memory structure applies. Changes arrive after commit, and the callbacks of
+ * concurrent transactions run in no particular order, so figures are only applied when their row version is newer
+ * than the applied ones, and a deleted book is never brought back. While a rebuild reads its snapshot, the books
+ * changed meanwhile are remembered and keep their live state over the snapshot.
+ * <p>
+ * Not thread-safe; the owning structure calls it under its own lock.
+ */
+public class BookChangeFilter {
+
+    private final Set<Long> deleted = new HashSet<>();
+    private Set<Long> changedDuringRebuild;
+
+    /**
+     * Whether {@code book} replaces {@code applied}, the figures currently applied for the same book or
+     * {@code null} when there are none.
+     */
+    public boolean acceptSave(BookFigures book, BookFigures applied) {
+        if (deleted.contains(book.getId()) || (applied != null && !isNewer(book, applied))) {
+            return false;
+        }
+        changed(book.getId());
+        return true;
+    }
+
+    public boolean acceptRemoval(Long id) {
+        changed(id);
+        return deleted.add(id);
+    }
+
+    public void beginRebuild() {
+        changedDuringRebuild = new HashSet<>();
+    }
+
+    /**
+     * Merges {@code snapshot} with the books changed since {@link #beginRebuild()}, whose {@code applied} figures
+     * win unless the snapshot read a newer version. Only deletions seen during the rebuild are remembered after it.
+     */
+    public List<BookFigures> finishRebuild(Collection<BookFigures> snapshot, Function<Long, BookFigures> applied) {
+        Set<Long> changed = changedDuringRebuild != null ? changedDuringRebuild : Set.of();
+        List<BookFigures> merged = new ArrayList<>(snapshot.size());
+        Set<Long> snapshotIds = new HashSet<>();
+        for (BookFigures book : snapshot) {
+            snapshotIds.add(book.getId());
+            if (deleted.contains(book.getId())) {
+                continue;
+            }
+            BookFigures live = changed.contains(book.getId()) ? applied.apply(book.getId()) : null;
+            merged.add(live != null && isNewer(live, book) ? live : book);
+        }
+        for (Long id : changed) {
+            BookFigures live = applied.apply(id);
+            if (live != null && !deleted.contains(id) && !snapshotIds.contains(id)) {
+                merged.add(live);
+            }
+        }
+        deleted.retainAll(changed);
+        changedDuringRebuild = null;
+        return merged;
+    }
+
+    private void changed(Long id) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    private static boolean isNewer(BookFigures book, BookFigures than) {
+        return book.getVersion() == null || than.getVersion() == null || book.getVersion() > than.getVersion();
+    }
+}
@@ -0,0 +1,33 @@
+package com.jesus.pereira.bookstoreapi.statistics;
+
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns of one book that feed the author and category aggregates and the facet index, as of the row
+ * {@code version} they were read at.
+ */
+@Getter
+@AllArgsConstructor
+public class BookFigures {
+
+    private final Long id;
+
+    private final Long authorId;
+
+    private final Long categoryId;
+
+    private final BigDecimal prize;
+
+    private final int pages;
+
+    private final Long version;
+
+    public static BookFigures of(Book book) {
+        return new BookFigures(book.getId(), book.getAuthor().getId(), book.getCategory().getId(),
+                book.getPrize(), book.getPages(), book.getVersion());
+    }
+}
@@ -0,0 +1,100 @@
+package com.jesus.pereira.bookstoreapi.statistics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-author and per-category book aggregates. The write paths report each book's figures after commit;
+ * the figures applied per book are kept so a change replaces exactly what it supersedes, whatever order the
+ * changes arrive in. The periodic reconciliation rebuilds everything from a snapshot of the table.
+ */
+@Component
+public class CatalogStatistics {
+
+    private final Map<Long, BookFigures> books = new HashMap<>();
+    private final BookChangeFilter changes = new BookChangeFilter();
+    private volatile Map<Long, BookAggregate> authors = new ConcurrentHashMap<>();
+    private volatile Map<Long, BookAggregate> categories = new ConcurrentHashMap<>();
+
+    public synchronized void bookSaved(BookFigures book) {
+        BookFigures applied = books.get(book.getId());
+        if (!changes.acceptSave(book, applied)) {
+            return;
+        }
+        if (applied != null) {
+            subtract(applied);
+        }
+        books.put(book.getId(), book);
+        add(authors, categories, book);
+    }
+
+    public synchronized void bookRemoved(Long bookId) {
+        if (changes.acceptRemoval(bookId)) {
+            BookFigures applied = books.remove(bookId);
+            if (applied != null) {
+                subtract(applied);
+            }
+        }
+    }
+
+    public synchronized void authorRemoved(Long authorId) {
+        authors.remove(authorId);
+    }
+
+    public synchronized void categoryRemoved(Long categoryId) {
+        categories.remove(categoryId);
+    }
+
+    public BookAggregate author(Long authorId) {
+        return authors.get(authorId);
+    }
+
+    public BookAggregate category(Long categoryId) {
+        return categories.get(categoryId);
+    }
+
+    /**
+     * Starts recording the books changed while the reconciliation reads its snapshot.
+     */
+    public synchronized void beginRebuild() {
+        changes.beginRebuild();
+    }
+
+    /**
+     * Replaces every aggregate with one computed from {@code snapshot}, keeping the books changed since
+     * {@link #beginRebuild()} as they were last reported.
+     */
+    public synchronized void finishRebuild(Collection<BookFigures> snapshot) {
+        List<BookFigures> merged = changes.finishRebuild(snapshot, books::get);
+        Map<Long, BookAggregate> rebuiltAuthors = new ConcurrentHashMap<>();
+        Map<Long, BookAggregate> rebuiltCategories = new ConcurrentHashMap<>();
+        books.clear();
+        for (BookFigures book : merged) {
+            books.put(book.getId(), book);
+            add(rebuiltAuthors, rebuiltCategories, book);
+        }
+        authors = rebuiltAuthors;
+        categories = rebuiltCategories;
+    }
+
+    private void subtract(BookFigures book) {
+        BookAggregate author = authors.get(book.getAuthorId());
+        if (author != null) {
+            author.remove(book);
+        }
+        BookAggregate category = categories.get(book.getCategoryId());
+        if (category != null) {
+            category.remove(book);
+        }
+    }
+
+    private static void add(Map<Long, BookAggregate> authors, Map<Long, BookAggregate> categories, BookFigures book) {
+        authors.computeIfAbsent(book.getAuthorId(), BookAggregate::new).add(book);
+        categories.computeIfAbsent(book.getCategoryId(), BookAggregate::new).add(book);
+    }
+}
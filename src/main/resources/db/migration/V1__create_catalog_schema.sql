@@ -0,0 +1,52 @@
+create sequence book_seq start with 1 increment by 50;
+
+create table author (
+    id          bigint generated by default as identity primary key,
+    name        varchar(255),
+    surname     varchar(255),
+    update_date timestamp,
+    version     bigint
+);
+
+create table category (
+    id          bigint generated by default as identity primary key,
+    name        varchar(255),
+    description varchar(255),
+    update_date timestamp,
+    version     bigint
+);
+
+create table book (
+    id            bigint primary key,
+    name          varchar(255),
+    description   varchar(255),
+    prize         numeric(19, 2),
+    pages         integer,
+    creation_date timestamp,
+    update_date   timestamp,
+    version       bigint,
+    author_id     bigint not null,
+    category_id   bigint not null,
+    constraint fk_book_author foreign key (author_id) references author (id) on delete cascade,
+    constraint fk_book_category foreign key (category_id) references category (id) on delete cascade
+);
+
+create table book_view (
+    id                   bigint primary key,
+    name                 varchar(255),
+    description          varchar(255),
+    prize                numeric(19, 2),
+    pages                integer,
+    version              bigint,
+    author_id            bigint,
+    author_name          varchar(255),
+    author_surname       varchar(255),
+    author_version       bigint,
+    category_id          bigint,
+    category_name        varchar(255),
+    category_description varchar(255),
+    category_version     bigint
+);
+
+create index idx_book_view_author on book_view (author_id, id);
+create index idx_book_view_category on book_view (category_id, id);
@@ -0,0 +1,13 @@
+-- Case-insensitive lookups compare these generated keys so the unique indexes below can serve them.
+alter table author add column name_key varchar(255) generated always as (lower(name));
+alter table author add column surname_key varchar(255) generated always as (lower(surname));
+alter table category add column name_key varchar(255) generated always as (lower(name));
+alter table book add column name_key varchar(255) generated always as (lower(name));
+
+create unique index ux_author_name_surname on author (name_key, surname_key);
+create unique index ux_category_name on category (name_key);
+create unique index ux_book_name on book (name_key);
+
+-- Foreign key lookups, with id appended so the by-author/by-category listings come back in id order.
+create index idx_book_author on book (author_id, id);
+create index idx_book_category on book (category_id, id);
@@ -0,0 +1,183 @@
+package com.jesus.pereira.bookstoreapi.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class BookResponseCacheTest {
+
+    @Mock
+    BookMapper bookMapper;
+
+    BookResponseCache bookResponseCache;
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        bookResponseCache = new BookResponseCache(new ObjectMapper(), bookMapper, 10, 1);
+        book = Book.builder()
+                .id(1L)
+                .version(3L)
+                .creationDate(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .author(Author.builder().id(7L).version(1L).build())
+                .category(Category.builder().id(9L).version(2L).build())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookResponseCache.destroy();
+    }
+
+    @Test
+    void givenLoadedBookShouldServeSerializedBodyWithValidators() {
+        given(bookMapper.toBookDto(book)).willReturn(view(1L, "Book1", 7L, 9L));
+
+        bookResponseCache.loadBook(1L, () -> book);
+        CachedResponse cached = bookResponseCache.get(BookResponseCache.bookKey(1L)).orElseThrow();
+
+        assertThat(cached.getETag()).isEqualTo("3.1.2");
+        assertThat(cached.getLastModified()).isPositive();
+        assertThat(new String(cached.getBody(), StandardCharsets.UTF_8)).contains("\"name\":\"Book1\"");
+    }
+
+    @Test
+    void givenAuthorChangeShouldOnlyEvictResponsesEmbeddingIt() {
+        String byAuthor = BookResponseCache.booksByAuthorKey(7L);
+        String byOtherAuthor = BookResponseCache.booksByAuthorKey(8L);
+        bookResponseCache.loadBooks(byAuthor, () -> List.of(view(1L, "Book1", 7L, 9L)));
+        bookResponseCache.loadBooks(byOtherAuthor, () -> List.of(view(2L, "Book2", 8L, 9L)));
+
+        bookResponseCache.evictAuthor(7L);
+
+        assertThat(bookResponseCache.get(byAuthor)).isEmpty();
+        assertThat(bookResponseCache.get(byOtherAuthor)).isPresent();
+
+        bookResponseCache.evictCategory(9L);
+
+        assertThat(bookResponseCache.get(byOtherAuthor)).isEmpty();
+    }
+
+    @Test
+    void givenBookChangeShouldEvictListsContainingIt() {
+        String byCategory = BookResponseCache.booksByCategoryKey(9L);
+        bookResponseCache.loadBooks(byCategory, () -> List.of(view(1L, "Book1", 7L, 9L), view(2L, "Book2", 8L, 9L)));
+
+        bookResponseCache.evictBook(2L);
+
+        assertThat(bookResponseCache.get(byCategory)).isEmpty();
+    }
+
+    @Test
+    void givenNewBookShouldEvictListsOfItsAuthorAndCategory() {
+        String byAuthor = BookResponseCache.booksByAuthorKey(7L);
+        bookResponseCache.loadBooks(byAuthor, List::of);
+
+        bookResponseCache.evictBookLists(7L, null);
+
+        assertThat(bookResponseCache.get(byAuthor)).isEmpty();
+    }
+
+    @Test
+    void givenInvalidationWhileLoadingShouldNotKeepStaleResponse() {
+        String byAuthor = BookResponseCache.booksByAuthorKey(7L);
+
+        CachedResponse served = bookResponseCache.loadBooks(byAuthor, () -> {
+            List<BookDTO> stale = List.of(view(1L, "Book1", 7L, 9L));
+            bookResponseCache.evictBook(1L);
+            return stale;
+        });
+
+        assertThat(served.getBody()).isNotEmpty();
+        assertThat(bookResponseCache.get(byAuthor)).isEmpty();
+    }
+
+    @Test
+    void givenConcurrentMissesForSameBookShouldLoadOnce() throws Exception {
+        int callers = 8;
+        given(bookMapper.toBookDto(book)).willReturn(view(1L, "Book1", 7L, 9L));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(callers);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<CachedResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                responses.add(executor.submit(() -> {
+                    ready.countDown();
+                    return bookResponseCache.loadBook(1L, () -> {
+                        loads.incrementAndGet();
+                        awaitQuietly(ready);
+                        return book;
+                    });
+                }));
+            }
+            for (Future<CachedResponse> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS).getETag()).isEqualTo("3.1.2");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        verify(bookMapper, times(1)).toBookDto(book);
+    }
+
+    @Test
+    void givenCapacityEvictionsShouldPruneTagIndex() {
+        String description = "x".repeat(20_000);
+        int loaded = 200;
+        for (long id = 1; id <= loaded; id++) {
+            BookDTO book = new BookDTO(id, "Book" + id, description, BigDecimal.ONE, 100, 0L,
+                    id, "Author", "Test", 0L, id, "Category", "Test", 0L);
+            bookResponseCache.loadBooks(BookResponseCache.bookKey(id), () -> List.of(book));
+        }
+
+        long cached = LongStream.rangeClosed(1, loaded)
+                .filter(id -> bookResponseCache.get(BookResponseCache.bookKey(id)).isPresent())
+                .count();
+        assertThat(cached).isLessThan(loaded);
+        assertThat(bookResponseCache.indexedTags()).isEqualTo(3 * cached);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static BookDTO view(Long id, String name, Long authorId, Long categoryId) {
+        return new BookDTO(id, name, "Test", BigDecimal.ONE, 100, 0L,
+                authorId, "Author", "Test", 0L, categoryId, "Category", "Test", 0L);
+    }
+}
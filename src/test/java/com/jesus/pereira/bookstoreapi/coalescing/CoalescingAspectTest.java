@@ -0,0 +1,174 @@
+package com.jesus.pereira.bookstoreapi.coalescing;
+
+import com.jesus.pereira.bookstoreapi.config.MetricsConfiguration;
+import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
+import com.jesus.pereira.bookstoreapi.service.impl.AuthorServiceImpl;
+import com.jesus.pereira.bookstoreapi.service.impl.BookServiceImpl;
+import com.jesus.pereira.bookstoreapi.service.impl.CategoryServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Entity;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CoalescingAspectTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingLookup target = new BlockingLookup();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private Lookup lookup;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new CoalescingAspect(meterRegistry));
+        lookup = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenConcurrentIdenticalCallsShouldExecuteOnceAndShareResult() throws Exception {
+        List<Future<String>> results = callConcurrently(() -> lookup.find(1L));
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("book-1");
+        }
+        assertThat(target.executions.get()).isEqualTo(1);
+        assertThat(coalescedCalls()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void givenDifferentArgumentsShouldNotCoalesce() throws Exception {
+        target.release.countDown();
+
+        assertThat(lookup.find(1L)).isEqualTo("book-1");
+        assertThat(lookup.find(2L)).isEqualTo("book-2");
+        assertThat(target.executions.get()).isEqualTo(2);
+        assertThat(coalescedCalls()).isZero();
+    }
+
+    @Test
+    void givenFailingCallShouldRethrowToEveryCaller() throws Exception {
+        List<Future<String>> results = callConcurrently(() -> lookup.find(-1L));
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(NoSuchElementExistsException.class);
+        }
+        assertThat(target.executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void givenActiveTransactionShouldExecuteEveryCall() {
+        target.release.countDown();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            lookup.find(1L);
+            lookup.find(1L);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(target.executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void coalescedServiceMethodsShouldNotReturnEntities() {
+        List<Method> coalesced = new ArrayList<>();
+        for (Class<?> service : List.of(BookServiceImpl.class, AuthorServiceImpl.class, CategoryServiceImpl.class)) {
+            Arrays.stream(service.getDeclaredMethods())
+                    .filter(method -> method.isAnnotationPresent(Coalesced.class))
+                    .forEach(coalesced::add);
+        }
+
+        assertThat(coalesced).isNotEmpty()
+                .noneMatch(method -> mentionsEntity(method.getGenericReturnType()));
+    }
+
+    private static boolean mentionsEntity(Type type) {
+        if (type instanceof ParameterizedType) {
+            return mentionsEntity(((ParameterizedType) type).getRawType())
+                    || Arrays.stream(((ParameterizedType) type).getActualTypeArguments())
+                    .anyMatch(CoalescingAspectTest::mentionsEntity);
+        }
+        return type instanceof Class && ((Class<?>) type).isAnnotationPresent(Entity.class);
+    }
+
+    private List<Future<String>> callConcurrently(Callable<String> call) throws Exception {
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                return call.call();
+            }));
+        }
+        ready.await(5, TimeUnit.SECONDS);
+        assertThat(target.started.await(5, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedCalls() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        target.release.countDown();
+        return results;
+    }
+
+    private double coalescedCalls() {
+        return meterRegistry.find(MetricsConfiguration.COALESCED_CALLS).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    interface Lookup {
+
+        String find(Long id);
+    }
+
+    static class BlockingLookup implements Lookup {
+
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        @Coalesced
+        public String find(Long id) {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (id < 0) {
+                throw new NoSuchElementExistsException("No book exists with id " + id);
+            }
+            return "book-" + id;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.jesus.pereira.bookstoreapi.config;
+
+import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
+import com.jesus.pereira.bookstoreapi.service.AuthorService;
+import com.jesus.pereira.bookstoreapi.service.CatalogStreamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMetrics
+@AutoConfigureMockMvc
+public class MetricsConfigurationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    AuthorService authorService;
+
+    @Autowired
+    CatalogStreamService catalogStreamService;
+
+    @Test
+    void givenFailingServiceCallShouldRecordExceptionTag() {
+        assertThatThrownBy(() -> authorService.findAuthorById(-1L))
+                .isInstanceOf(NoSuchElementExistsException.class);
+
+        long count = meterRegistry.get(MetricsConfiguration.SERVICE_TIMER)
+                .tag("method", "findAuthorById")
+                .tag("exception", "NoSuchElementExistsException")
+                .timer()
+                .count();
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    void givenStreamShouldRecordServiceTimerWhenItCompletes() {
+        catalogStreamService.streamCategories().collectList().block();
+
+        long count = meterRegistry.get(MetricsConfiguration.SERVICE_TIMER)
+                .tag("method", "streamCategories")
+                .tag("exception", "none")
+                .timer()
+                .count();
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    void givenPrometheusScrapeShouldExposeServiceRepositoryAndHibernateMetrics() throws Exception {
+        authorService.findAllAuthors();
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("bookstore_service_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total")));
+    }
+}
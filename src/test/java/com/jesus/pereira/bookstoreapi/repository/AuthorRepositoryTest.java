@@ -1,6 +1,8 @@
 package com.jesus.pereira.bookstoreapi.repository;
 
 import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,8 +10,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -94,26 +98,24 @@ public class AuthorRepositoryTest {
     }
 
     @Test
-    void shouldReturnAuthorsByNameLike() {
-        List<Author> authorList = new ArrayList<>();
-        Author author3 = Author.builder()
-                .name("John")
-                .surname("Doe")
-                .build();
+    void shouldReturnAuthorsAfterGivenId() {
+        Long firstId = entityManager.persistAndFlush(author1).getId();
+        entityManager.persistAndFlush(author2);
 
-        authorList.add(author1);
-        authorList.add(author2);
-        authorList.add(author3);
+        List<Author> authorsRetrieved = authorRepository.findByIdGreaterThanOrderByIdAsc(firstId, PageRequest.of(0, 10));
 
-        entityManager.persistAndFlush(author1);
-        entityManager.persistAndFlush(author2);
-        entityManager.persistAndFlush(author3);
+        assertThat(authorsRetrieved).containsExactly(author2);
+    }
 
-        List<Author> authorsRetrieved = authorRepository.findAll();
-        List<Author> authorsRetrievedByName = authorRepository.findByNameContainingIgnoreCase("Aut");
+    @Test
+    void shouldReturnAuthorViewsAfterGivenId() {
+        Long firstId = entityManager.persistAndFlush(author1).getId();
+        Long secondId = entityManager.persistAndFlush(author2).getId();
 
-        assertThat(authorsRetrieved).size().isEqualTo(3);
-        assertThat(authorsRetrievedByName).size().isEqualTo(2);
+        List<AuthorDTO> authorsRetrieved = authorRepository.findAuthorViewsAfter(firstId, PageRequest.of(0, 10));
+
+        assertThat(authorsRetrieved).extracting(AuthorDTO::getId, AuthorDTO::getName, AuthorDTO::getSurname)
+                .containsExactly(tuple(secondId, "Author2", author2.getSurname()));
     }
 
     @Test
@@ -126,4 +128,16 @@ public class AuthorRepositoryTest {
         assertThat(authorList).size().isEqualTo(1);
         assertThat(authorList).contains(author2);
     }
+
+    @Test
+    void shouldReadVersionOfAuthor() {
+        LocalDateTime updated = LocalDateTime.of(2024, 1, 1, 10, 0);
+        author1.setUpdateDate(updated);
+        Long id = entityManager.persistAndFlush(author1).getId();
+
+        VersionDTO version = authorRepository.findVersionById(id).orElseThrow();
+
+        assertThat(version.getTag()).isEqualTo(String.valueOf(author1.getVersion()));
+        assertThat(version.getLastModified()).isEqualTo(updated);
+    }
 }
@@ -0,0 +1,140 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFilterCriteria;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BookFilterRepositoryTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Author author1;
+    private Author author2;
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        author1 = entityManager.persist(Author.builder().name("Author1").surname("Test").build());
+        author2 = entityManager.persist(Author.builder().name("Author2").surname("Test").build());
+        Category category = entityManager.persist(Category.builder().name("Category1").description("Test").build());
+        books = new ArrayList<>();
+        books.add(persist("Dubliners", new BigDecimal("10.00"), 150, author1, category));
+        books.add(persist("Ulises", new BigDecimal("20.00"), 700, author1, category));
+        books.add(persist("The 50% book", new BigDecimal("20.00"), 200, author2, category));
+        books.add(persist("Unpriced", null, 90, author2, category));
+        books.add(persist("Finnegans Wake", new BigDecimal("30.00"), 600, author1, category));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldComposeFiltersIntoSingleStatementWithRelations() {
+        BookFilterCriteria criteria = BookFilterCriteria.builder()
+                .authorIds(Set.of(author1.getId()))
+                .minPrize(new BigDecimal("15"))
+                .maxPages(650)
+                .build();
+        Statistics statistics = statistics();
+
+        List<Book> found = bookRepository.findWithAuthorAndCategory(BookSpecifications.matching(criteria),
+                BookSpecifications.orderBy(BookSortField.ID, Sort.Direction.ASC), 10);
+
+        assertThat(found).extracting(Book::getName).containsExactly("Finnegans Wake");
+        assertThat(found.get(0).getAuthor().getName()).isEqualTo("Author1");
+        assertThat(found.get(0).getCategory().getName()).isEqualTo("Category1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMatchLikeWildcardsLiterally() {
+        BookFilterCriteria criteria = BookFilterCriteria.builder().name("50%").build();
+
+        assertThat(bookRepository.findAll(BookSpecifications.matching(criteria)))
+                .extracting(Book::getName).containsExactly("The 50% book");
+        assertThat(bookRepository.count(BookSpecifications.matching(BookFilterCriteria.builder().name("%").build())))
+                .isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Sort.Direction.class)
+    void shouldWalkKeysetPagesInSortOrder(Sort.Direction direction) {
+        Sort sort = BookSpecifications.orderBy(BookSortField.PRIZE, direction);
+        List<String> expected = bookRepository.findAll(sort).stream().map(Book::getName).collect(Collectors.toList());
+
+        List<String> walked = new ArrayList<>();
+        Specification<Book> position = null;
+        List<Book> page;
+        do {
+            page = bookRepository.findWithAuthorAndCategory(position, sort, 2);
+            page.forEach(book -> walked.add(book.getName()));
+            if (!page.isEmpty()) {
+                Book last = page.get(page.size() - 1);
+                position = BookSpecifications.after(BookSortField.PRIZE, direction, last.getPrize(), last.getId());
+            }
+        } while (page.size() == 2);
+
+        assertThat(walked).hasSize(books.size()).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldReuseQueryPlanForSameFilterCombination() {
+        Statistics statistics = statistics();
+        search(new BigDecimal("5"), 100);
+        long misses = statistics.getQueryPlanCacheMissCount();
+        long hits = statistics.getQueryPlanCacheHitCount();
+
+        search(new BigDecimal("25"), 300);
+
+        assertThat(statistics.getQueryPlanCacheMissCount()).isEqualTo(misses);
+        assertThat(statistics.getQueryPlanCacheHitCount()).isGreaterThan(hits);
+    }
+
+    private void search(BigDecimal minPrize, int minPages) {
+        BookFilterCriteria criteria = BookFilterCriteria.builder().minPrize(minPrize).minPages(minPages).build();
+        bookRepository.findWithAuthorAndCategory(BookSpecifications.matching(criteria),
+                BookSpecifications.orderBy(BookSortField.PAGES, Sort.Direction.DESC), 10);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Book persist(String name, BigDecimal prize, int pages, Author author, Category category) {
+        return entityManager.persist(Book.builder().name(name).description("Test").prize(prize).pages(pages)
+                .author(author).category(category).build());
+    }
+}
@@ -0,0 +1,133 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.mapper.AuthorMapperImpl;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapperImpl;
+import com.jesus.pereira.bookstoreapi.mapper.CategoryMapperImpl;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookMapperImpl.class, AuthorMapperImpl.class, CategoryMapperImpl.class})
+public class BookQueryCountTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    BookMapper bookMapper;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void shouldLoadAllBooksWithRelationsInSingleStatement(int bookCount) {
+        persistBooks(bookCount);
+
+        assertThat(countStatements(() -> bookRepository.findWithAuthorAndCategoryBy())).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void shouldLoadKeysetPageWithRelationsInSingleStatement(int bookCount) {
+        persistBooks(bookCount);
+
+        assertThat(countStatements(() -> bookRepository.findWithAuthorAndCategoryByIdGreaterThanOrderByIdAsc(0L,
+                ContinuationToken.lookAhead(ContinuationToken.MAX_PAGE_SIZE)))).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void shouldLoadBooksByIdsWithRelationsInSingleStatement(int bookCount) {
+        List<Long> ids = persistBooks(bookCount).stream().map(Book::getId).collect(Collectors.toList());
+
+        assertThat(countStatements(() -> bookRepository.findWithAuthorAndCategoryByIdIn(ids))).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void shouldLoadBooksByAuthorWithRelationsInSingleStatement(int bookCount) {
+        Author author = entityManager.persist(Author.builder().name("Shared").surname("Author").build());
+        persistBooks(bookCount, author, null);
+
+        assertThat(countStatements(() -> bookRepository.findWithAuthorAndCategoryByAuthorId(author.getId())))
+                .isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void shouldLoadBooksByCategoryWithRelationsInSingleStatement(int bookCount) {
+        Category category = entityManager.persist(Category.builder().name("Shared").description("Category").build());
+        persistBooks(bookCount, null, category);
+
+        assertThat(countStatements(() -> bookRepository.findWithAuthorAndCategoryByCategoryId(category.getId())))
+                .isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void shouldResolveLazyAuthorsAndCategoriesInOneBatchEach(int bookCount) {
+        persistBooks(bookCount);
+
+        assertThat(countStatements(() -> bookRepository.findAll())).isEqualTo(3);
+    }
+
+    private long countStatements(Supplier<List<Book>> query) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookDTO> books = query.get().stream().map(bookMapper::toBookDto).collect(Collectors.toList());
+
+        assertThat(books).isNotEmpty().allSatisfy(book -> {
+            assertThat(book.getAuthorDTO().getName()).isNotNull();
+            assertThat(book.getCategoryDTO().getName()).isNotNull();
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Book> persistBooks(int bookCount) {
+        return persistBooks(bookCount, null, null);
+    }
+
+    private List<Book> persistBooks(int bookCount, Author sharedAuthor, Category sharedCategory) {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < bookCount; i++) {
+            Author author = sharedAuthor != null ? sharedAuthor
+                    : entityManager.persist(Author.builder().name("Author" + i).surname("Test" + i).build());
+            Category category = sharedCategory != null ? sharedCategory
+                    : entityManager.persist(Category.builder().name("Category" + i).description("Test").build());
+            books.add(entityManager.persist(Book.builder().name("Book" + i).description("Test").prize(BigDecimal.TEN)
+                    .pages(100).author(author).category(category).build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return books;
+    }
+}
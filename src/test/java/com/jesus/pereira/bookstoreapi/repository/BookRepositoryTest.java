@@ -3,6 +3,9 @@ package com.jesus.pereira.bookstoreapi.repository;
 import com.jesus.pereira.bookstoreapi.domain.Author;
 import com.jesus.pereira.bookstoreapi.domain.Book;
 import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,11 +13,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -119,24 +127,67 @@ public class BookRepositoryTest {
     }
 
     @Test
-    void shouldReturnAllBooksByNameLike() {
-        Book book3 = Book.builder()
-                .name("Comedy")
-                .description("Comedy book")
-                .prize(new BigDecimal("59.99"))
-                .author(author)
-                .category(category)
-                .build();
+    void shouldReturnBooksAfterGivenId() {
+        Long firstId = entityManager.persistAndFlush(book1).getId();
+        entityManager.persistAndFlush(book2);
+
+        List<Book> firstPage = bookRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1));
+        List<Book> secondPage = bookRepository.findByIdGreaterThanOrderByIdAsc(firstId, PageRequest.of(0, 1));
+
+        assertThat(firstPage).containsExactly(book1);
+        assertThat(secondPage).containsExactly(book2);
+    }
+
+    @Test
+    void shouldDeleteBooksWithSetBasedStatements() {
+        Long firstId = entityManager.persistAndFlush(book1).getId();
+        Long secondId = entityManager.persistAndFlush(book2).getId();
+
+        assertThat(bookRepository.findIdsByAuthorId(author.getId())).containsExactlyInAnyOrder(firstId, secondId);
+        assertThat(bookRepository.deleteBookById(firstId)).isEqualTo(1);
+        assertThat(bookRepository.deleteBooksByIds(List.of(firstId, secondId))).isEqualTo(1);
+        assertThat(bookRepository.deleteBooksByCategoryId(category.getId())).isZero();
+        assertThat(bookRepository.findAll()).isEmpty();
+    }
 
+    @Test
+    void shouldStreamAllBooksWithAuthorAndCategory() {
         entityManager.persistAndFlush(book1);
         entityManager.persistAndFlush(book2);
-        entityManager.persistAndFlush(book3);
+        entityManager.clear();
+
+        List<Book> booksStreamed;
+        try (Stream<Book> books = bookRepository.streamAllWithAuthorAndCategory()) {
+            booksStreamed = books.collect(Collectors.toList());
+        }
+
+        assertThat(booksStreamed).size().isEqualTo(2);
+        assertThat(booksStreamed).allSatisfy(book -> {
+            assertThat(Hibernate.isInitialized(book.getAuthor())).isTrue();
+            assertThat(Hibernate.isInitialized(book.getCategory())).isTrue();
+        });
+    }
 
-        List<Book> booksRetrieved = bookRepository.findAll();
-        List<Book> booksRetrievedByName = bookRepository.findByNameContainingIgnoreCase("boo");
+    @Test
+    void shouldReturnExistingNamesInLowerCase() {
+        entityManager.persistAndFlush(book1);
+        entityManager.persistAndFlush(book2);
+
+        Set<String> existingNames = bookRepository.findExistingNames(List.of("book1", "book3"));
+
+        assertThat(existingNames).containsExactly("book1");
+    }
+
+    @Test
+    void shouldReadFiguresWithVersionAfterId() {
+        Long firstId = entityManager.persistAndFlush(book1).getId();
+        Long secondId = entityManager.persistAndFlush(book2).getId();
+
+        List<BookFigures> figures = bookRepository.findFiguresAfter(firstId, PageRequest.of(0, 10));
 
-        assertThat(booksRetrieved).size().isEqualTo(3);
-        assertThat(booksRetrievedByName).size().isEqualTo(2);
+        assertThat(figures).extracting(BookFigures::getId).containsExactly(secondId);
+        assertThat(figures.get(0).getAuthorId()).isEqualTo(author.getId());
+        assertThat(figures.get(0).getVersion()).isEqualTo(book2.getVersion());
     }
 
     @Test
@@ -151,4 +202,17 @@ public class BookRepositoryTest {
         assertThat(bookList).contains(book2);
     }
 
+    @Test
+    void shouldReadCompositeVersionOfBook() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 10, 0);
+        book1.setCreationDate(created);
+        Long id = entityManager.persistAndFlush(book1).getId();
+        entityManager.clear();
+
+        VersionDTO version = bookRepository.findVersionById(id).orElseThrow();
+
+        assertThat(version.getTag()).isEqualTo(book1.getVersion() + "." + author.getVersion() + "." + category.getVersion());
+        assertThat(version.getLastModified()).isEqualTo(created);
+        assertThat(bookRepository.findVersionById(-1L)).isEmpty();
+    }
 }
@@ -0,0 +1,109 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class BookViewRepositoryTest {
+
+    @Autowired
+    BookViewRepository bookViewRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    private Author author;
+    private Category category;
+    private Book book1;
+    private Book book2;
+
+    @BeforeEach
+    void setUp() {
+        author = entityManager.persistAndFlush(Author.builder().name("Author").surname("Test").build());
+        category = entityManager.persistAndFlush(Category.builder().name("Category").description("Test category").build());
+
+        book1 = entityManager.persistAndFlush(Book.builder()
+                .name("Book1")
+                .description("The first book")
+                .prize(new BigDecimal("49.99"))
+                .pages(100)
+                .author(author)
+                .category(category)
+                .build());
+        book2 = entityManager.persistAndFlush(Book.builder()
+                .name("Book2")
+                .description("The second book")
+                .prize(new BigDecimal("59.99"))
+                .pages(150)
+                .author(author)
+                .category(category)
+                .build());
+    }
+
+    @Test
+    void shouldRebuildFlattenedRowsFromBooks() {
+        assertThat(bookViewRepository.rebuild()).isEqualTo(2);
+
+        List<BookDTO> byAuthor = bookViewRepository.findBookViewsByAuthorId(author.getId());
+
+        assertThat(byAuthor).extracting(BookDTO::getName).containsExactly("Book1", "Book2");
+        assertThat(byAuthor.get(0).getPrize()).isEqualByComparingTo("49.99");
+        assertThat(byAuthor.get(0).getAuthorDTO().getSurname()).isEqualTo("Test");
+        assertThat(byAuthor.get(0).getCategoryDTO().getDescription()).isEqualTo("Test category");
+        assertThat(bookViewRepository.findBookViewsByCategoryId(category.getId())).hasSize(2);
+        assertThat(bookViewRepository.findBookViewsAfter(book1.getId(), PageRequest.of(0, 10)))
+                .extracting(BookDTO::getId).containsExactly(book2.getId());
+    }
+
+    @Test
+    void shouldFindRowsByIdsInIdOrder() {
+        bookViewRepository.rebuild();
+
+        assertThat(bookViewRepository.findBookViewsByIds(List.of(book2.getId(), book1.getId())))
+                .extracting(BookDTO::getId).containsExactly(book1.getId(), book2.getId());
+    }
+
+    @Test
+    void shouldRefreshRowsWithPendingChanges() {
+        bookViewRepository.refreshBooks(List.of(book1.getId(), book2.getId()));
+
+        book1.setName("Renamed");
+        bookViewRepository.refreshBooks(List.of(book1.getId()));
+        author.setSurname("Updated");
+        bookViewRepository.refreshAuthor(author.getId());
+        category.setName("Recategorized");
+        bookViewRepository.refreshCategory(category.getId());
+
+        assertThat(bookViewRepository.findBookViewsByCategoryId(category.getId()))
+                .allSatisfy(view -> {
+                    assertThat(view.getAuthorDTO().getSurname()).isEqualTo("Updated");
+                    assertThat(view.getCategoryDTO().getName()).isEqualTo("Recategorized");
+                })
+                .extracting(BookDTO::getName).containsExactly("Renamed", "Book2");
+    }
+
+    @Test
+    void shouldDeleteRowsOfRemovedBooks() {
+        bookViewRepository.rebuild();
+
+        assertThat(bookViewRepository.deleteViewsByIds(List.of(book1.getId()))).isEqualTo(1);
+        assertThat(bookViewRepository.deleteViewsByAuthorId(author.getId())).isEqualTo(1);
+        assertThat(bookViewRepository.count()).isZero();
+    }
+}
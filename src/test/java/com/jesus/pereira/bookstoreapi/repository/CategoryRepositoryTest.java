@@ -1,6 +1,7 @@
 package com.jesus.pereira.bookstoreapi.repository;
 
 import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.ArrayList;
@@ -81,28 +83,24 @@ public class CategoryRepositoryTest {
     }
 
     @Test
-    void shouldReturnAllCategoriesByNameLike(){
-        Category category3 = Category.builder()
-                .name("Comedy")
-                .description("Comedy category")
-                .build();
-
-        List<Category> categoryList = new ArrayList<>();
-        categoryList.add(category1);
-        categoryList.add(category2);
-        categoryList.add(category3);
-
-        entityManager.persistAndFlush(category1);
+    void shouldReturnCategoriesAfterGivenId(){
+        Long firstId = entityManager.persistAndFlush(category1).getId();
         entityManager.persistAndFlush(category2);
-        entityManager.persistAndFlush(category3);
 
-        List<Category> categoriesRetrieved = categoryRepository.findAll();
-        List<Category> categoriesRetrievedByName = categoryRepository.findByNameContainingIgnoreCase("cat");
+        List<Category> categoriesRetrieved = categoryRepository.findByIdGreaterThanOrderByIdAsc(firstId, PageRequest.of(0, 10));
 
-        assertThat(categoriesRetrieved).size().isEqualTo(3);
-        assertThat(categoriesRetrievedByName).size().isEqualTo(2);
+        assertThat(categoriesRetrieved).containsExactly(category2);
+    }
+
+    @Test
+    void shouldReturnCategoryViewsAfterGivenId(){
+        Long firstId = entityManager.persistAndFlush(category1).getId();
+        Long secondId = entityManager.persistAndFlush(category2).getId();
 
+        List<CategoryDTO> categoriesRetrieved = categoryRepository.findCategoryViewsAfter(firstId, PageRequest.of(0, 10));
 
+        assertThat(categoriesRetrieved).extracting(CategoryDTO::getId, CategoryDTO::getName)
+                .containsExactly(tuple(secondId, category2.getName()));
     }
 
     @Test
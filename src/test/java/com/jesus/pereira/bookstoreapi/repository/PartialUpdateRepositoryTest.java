@@ -0,0 +1,85 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(PartialUpdateRepository.class)
+public class PartialUpdateRepositoryTest {
+
+    @Autowired
+    PartialUpdateRepository partialUpdateRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        Author author = entityManager.persist(Author.builder().name("Author").surname("Test").build());
+        Category category = entityManager.persist(Category.builder().name("Category").description("Test").build());
+        book = entityManager.persistFlushFind(Book.builder()
+                .name("Book1")
+                .description("The first book")
+                .prize(new BigDecimal("49.99"))
+                .pages(100)
+                .author(author)
+                .category(category)
+                .build());
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldUpdateOnlyGivenColumnsInSingleStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        int updated = partialUpdateRepository.update(Book.class, book.getId(), book.getVersion(),
+                Map.of("prize", new BigDecimal("19.99")));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        Book reloaded = entityManager.find(Book.class, book.getId());
+        assertThat(reloaded.getPrize()).isEqualByComparingTo("19.99");
+        assertThat(reloaded.getName()).isEqualTo("Book1");
+        assertThat(reloaded.getVersion()).isEqualTo(book.getVersion() + 1);
+    }
+
+    @Test
+    void shouldNotUpdateStaleVersion() {
+        int updated = partialUpdateRepository.update(Book.class, book.getId(), book.getVersion() + 1,
+                Map.of("name", "Renamed"));
+
+        assertThat(updated).isZero();
+        assertThat(entityManager.find(Book.class, book.getId()).getName()).isEqualTo("Book1");
+    }
+
+    @Test
+    void shouldNotUpdateMissingRow() {
+        assertThat(partialUpdateRepository.update(Book.class, book.getId() + 100, null, Map.of("name", "Renamed")))
+                .isZero();
+    }
+}
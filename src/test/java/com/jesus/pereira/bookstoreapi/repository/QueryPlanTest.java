@@ -0,0 +1,154 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for each lookup query and fails on full table scans.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.jesus.pereira.bookstoreapi.repository.QueryPlanTest$RecordingStatementInspector")
+public class QueryPlanTest {
+
+    private static final List<String> statements = new ArrayList<>();
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    AuthorRepository authorRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    BookViewRepository bookViewRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Author author;
+    private Category category;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        author = entityManager.persistAndFlush(Author.builder().name("Author").surname("Test").build());
+        category = entityManager.persistAndFlush(Category.builder().name("Category").description("Test").build());
+        book = entityManager.persistAndFlush(Book.builder()
+                .name("Book")
+                .prize(BigDecimal.ONE)
+                .author(author)
+                .category(category)
+                .build());
+        entityManager.clear();
+    }
+
+    @Test
+    void bookLookupsShouldUseIndexes() {
+        assertIndexed(() -> bookRepository.findByNameIgnoreCase("BOOK"));
+        assertIndexed(() -> bookRepository.findExistingNames(List.of("book", "other")));
+        assertIndexed(() -> bookRepository.findVersionById(book.getId()));
+        assertIndexed(() -> bookRepository.findFiguresAfter(0L, PageRequest.of(0, 10)));
+        assertThat(recorded(() -> bookRepository.findFiguresForUpdateById(book.getId())))
+                .singleElement().asString().containsIgnoringCase("for update");
+        assertThat(recorded(() -> bookRepository.findForUpdateById(book.getId())))
+                .singleElement().asString().containsIgnoringCase("for update");
+        assertIndexed(() -> bookRepository.findWithAuthorAndCategoryById(book.getId()));
+        assertIndexed(() -> bookRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10)));
+        assertIndexed(() -> bookRepository.findWithAuthorAndCategoryByIdIn(List.of(book.getId())));
+    }
+
+    @Test
+    void bookForeignKeyLookupsShouldUseIndexes() {
+        assertIndexed(() -> bookRepository.findByAuthorId(author.getId()));
+        assertIndexed(() -> bookRepository.findByCategoryId(category.getId()));
+        assertIndexed(() -> bookRepository.findIdsByAuthorId(author.getId()));
+        assertIndexed(() -> bookRepository.findIdsByCategoryId(category.getId()));
+        assertIndexed(() -> bookRepository.findWithAuthorAndCategoryByAuthorId(author.getId()));
+        assertIndexed(() -> bookRepository.findWithAuthorAndCategoryByCategoryId(category.getId()));
+    }
+
+    @Test
+    void authorAndCategoryLookupsShouldUseIndexes() {
+        assertIndexed(() -> authorRepository.findByNameIgnoreCase("AUTHOR"));
+        assertIndexed(() -> authorRepository.findByNameAndSurnameIgnoreCase("AUTHOR", "TEST"));
+        assertIndexed(() -> authorRepository.findVersionById(author.getId()));
+        assertIndexed(() -> authorRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10)));
+        assertIndexed(() -> categoryRepository.findByNameIgnoreCase("CATEGORY"));
+        assertIndexed(() -> categoryRepository.findVersionById(category.getId()));
+        assertIndexed(() -> categoryRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void bookViewListingsShouldUseIndexes() {
+        assertIndexed(() -> bookViewRepository.findBookViewsByAuthorId(author.getId()));
+        assertIndexed(() -> bookViewRepository.findBookViewsByCategoryId(category.getId()));
+        assertIndexed(() -> bookViewRepository.findBookViewsAfter(0L, PageRequest.of(0, 10)));
+        assertIndexed(() -> bookViewRepository.findBookViewsByIds(List.of(1L, 2L)));
+    }
+
+    @Test
+    void idListLookupsShouldPadInClausesToReuseStatements() {
+        List<String> threeIds = recorded(() -> bookRepository.findWithAuthorAndCategoryByIdIn(List.of(1L, 2L, 3L)));
+        List<String> fourIds = recorded(() -> bookRepository.findWithAuthorAndCategoryByIdIn(List.of(1L, 2L, 3L, 4L)));
+        List<String> fiveIds = recorded(() -> authorRepository.findAllById(List.of(1L, 2L, 3L, 4L, 5L)));
+
+        assertThat(threeIds).isEqualTo(fourIds);
+        assertThat(fiveIds).singleElement().asString().contains("(? , ? , ? , ? , ? , ? , ? , ?)");
+        assertIndexed(() -> authorRepository.findAllById(List.of(author.getId())));
+        assertIndexed(() -> categoryRepository.findAllById(List.of(category.getId())));
+    }
+
+    private List<String> recorded(Runnable query) {
+        synchronized (statements) {
+            statements.clear();
+            query.run();
+            return new ArrayList<>(statements);
+        }
+    }
+
+    private void assertIndexed(Runnable query) {
+        List<String> executed = recorded(query);
+        assertThat(executed).isNotEmpty();
+        for (String sql : executed) {
+            String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+            assertThat(plan).as(sql).doesNotContain("tableScan");
+        }
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                synchronized (statements) {
+                    statements.add(sql);
+                }
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-read;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-read"
+})
+public class ReactiveBookRepositoryTest {
+
+    @Autowired
+    ReactiveBookRepository reactiveBookRepository;
+
+    @Autowired
+    ReactiveAuthorRepository reactiveAuthorRepository;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    AuthorRepository authorRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    BookViewRepository bookViewRepository;
+
+    private Author author;
+    private Category category;
+    private Book book1;
+    private Book book2;
+
+    @BeforeEach
+    void setUp() {
+        author = authorRepository.save(Author.builder().name("Author").surname("Reactive").build());
+        category = categoryRepository.save(Category.builder().name("Category").description("Reactive category").build());
+
+        book1 = bookRepository.save(Book.builder()
+                .name("Book1")
+                .description("The first book")
+                .prize(new BigDecimal("49.99"))
+                .pages(100)
+                .author(author)
+                .category(category)
+                .build());
+        book2 = bookRepository.save(Book.builder()
+                .name("Book2")
+                .description("The second book")
+                .prize(new BigDecimal("59.99"))
+                .pages(150)
+                .author(author)
+                .category(category)
+                .build());
+        bookViewRepository.refreshBooks(List.of(book1.getId(), book2.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookViewRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void shouldStreamBooksWrittenThroughJpaInIdOrder() {
+        StepVerifier.create(reactiveBookRepository.findAllBookViews())
+                .assertNext(book -> {
+                    assertThat(book.getId()).isEqualTo(book1.getId());
+                    assertThat(book.getPrize()).isEqualByComparingTo("49.99");
+                    assertThat(book.getPages()).isEqualTo(100);
+                    assertThat(book.getAuthorDTO().getSurname()).isEqualTo("Reactive");
+                    assertThat(book.getCategoryDTO().getName()).isEqualTo("Category");
+                })
+                .assertNext(book -> assertThat(book.getId()).isEqualTo(book2.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldHonourDownstreamDemand() {
+        StepVerifier.create(reactiveBookRepository.findBookViewsByAuthorId(author.getId()), 1)
+                .assertNext(book -> assertThat(book.getName()).isEqualTo("Book1"))
+                .thenRequest(1)
+                .assertNext(book -> assertThat(book.getName()).isEqualTo("Book2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldStreamBooksOfCategory() {
+        StepVerifier.create(reactiveBookRepository.findBookViewsByCategoryId(category.getId()).map(BookDTO::getName))
+                .expectNext("Book1", "Book2")
+                .verifyComplete();
+        StepVerifier.create(reactiveBookRepository.findBookViewsByCategoryId(-1L))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldStreamAuthors() {
+        StepVerifier.create(reactiveAuthorRepository.findAllAuthorViews())
+                .assertNext(view -> assertThat(view.getId()).isEqualTo(author.getId()))
+                .verifyComplete();
+    }
+}
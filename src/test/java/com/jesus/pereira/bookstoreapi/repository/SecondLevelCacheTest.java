@@ -0,0 +1,92 @@
+package com.jesus.pereira.bookstoreapi.repository;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    AuthorRepository authorRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        authorRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeRepeatedAuthorLookupsFromCache() {
+        Long id = authorRepository.save(Author.builder().name("Author1").surname("Test1").build()).getId();
+        statistics.clear();
+
+        authorRepository.findById(id);
+        authorRepository.findById(id);
+        authorRepository.findById(id);
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictCachedAuthorOnUpdate() {
+        Long id = authorRepository.save(Author.builder().name("Author1").surname("Test1").build()).getId();
+        Author author = authorRepository.findById(id).orElseThrow();
+
+        author.setName("Renamed");
+        authorRepository.save(author);
+
+        assertThat(authorRepository.findById(id).map(Author::getName)).contains("Renamed");
+    }
+
+    @Test
+    void shouldServeRepeatedCategoryNameQueriesFromQueryCache() {
+        categoryRepository.save(Category.builder().name("Category1").description("Test").build());
+        statistics.clear();
+
+        categoryRepository.findByNameIgnoreCase("category1");
+        categoryRepository.findByNameIgnoreCase("category1");
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateCachedNameQueryWhenCategoriesChange() {
+        categoryRepository.findByNameIgnoreCase("category1");
+        categoryRepository.save(Category.builder().name("Category1").description("Test").build());
+
+        assertThat(categoryRepository.findByNameIgnoreCase("category1")).isPresent();
+    }
+}
@@ -1,4 +1,276 @@
 package com.jesus.pereira.bookstoreapi.resource;
 
+import com.jesus.pereira.bookstoreapi.cache.BookResponseCache;
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.exception.InvalidContinuationTokenException;
+import com.jesus.pereira.bookstoreapi.exception.StaleVersionException;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.VersionDTO;
+import com.jesus.pereira.bookstoreapi.service.BookFetch;
+import com.jesus.pereira.bookstoreapi.service.BookBulkService;
+import com.jesus.pereira.bookstoreapi.service.BookExportService;
+import com.jesus.pereira.bookstoreapi.service.BookService;
+import com.jesus.pereira.bookstoreapi.service.CatalogStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookController.class)
+@Import({RequestExecutor.class, BookResponseCache.class})
 public class BookControllerTest {
+
+    private static final LocalDateTime LAST_MODIFIED = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    BookService bookService;
+
+    @MockBean
+    BookMapper bookMapper;
+
+    @MockBean
+    BookExportService bookExportService;
+
+    @MockBean
+    BookBulkService bookBulkService;
+
+    @MockBean
+    CatalogStreamService catalogStreamService;
+
+    @Autowired
+    BookResponseCache bookResponseCache;
+
+    @AfterEach
+    void tearDown() {
+        bookResponseCache.clear();
+    }
+
+    @Test
+    void givenPageRequestShouldReturnKeysetPage() throws Exception {
+        given(bookService.findAllBookViews(any(), anyInt())).willReturn(new KeysetPage<>(List.of(), "token"));
+
+        MvcResult result = mockMvc.perform(get("/books").param("size", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextToken").value("token"));
+    }
+
+    @Test
+    void givenBulkGetShouldReturnFoundBooksInRequestOrderAndMissingIds() throws Exception {
+        Book first = Book.builder().id(1L).name("First").build();
+        Book third = Book.builder().id(3L).name("Third").build();
+        given(bookService.findBooksByIds(List.of(3L, 2L, 1L), BookFetch.WITH_AUTHOR_AND_CATEGORY))
+                .willReturn(List.of(third, first));
+        given(bookMapper.toBookDto(any())).willAnswer(invocation -> {
+            Book book = invocation.getArgument(0);
+            return BookDTO.builder().id(book.getId()).name(book.getName()).prize(BigDecimal.ONE).build();
+        });
+
+        MvcResult result = mockMvc.perform(get("/books/bulk").param("ids", "3,2,1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found[0].name").value("Third"))
+                .andExpect(jsonPath("$.found[1].name").value("First"))
+                .andExpect(jsonPath("$.missing[0]").value(2));
+    }
+
+    @Test
+    void givenInvalidContinuationTokenShouldReturnBadRequest() throws Exception {
+        given(bookService.findAllBookViews(any(), anyInt())).willThrow(new InvalidContinuationTokenException("Invalid"));
+
+        mockMvc.perform(get("/books").param("continuationToken", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenPatchRequestWithIfMatchShouldPassExpectedVersion() throws Exception {
+        mockMvc.perform(patch("/books/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"prize\": 19.99}"))
+                .andExpect(status().isNoContent());
+
+        verify(bookService).patchBook(eq(1L), any(), eq(3L));
+    }
+
+    @Test
+    void givenStaleVersionShouldReturnPreconditionFailed() throws Exception {
+        willThrow(new StaleVersionException("Stale")).given(bookService).patchBook(eq(1L), any(), eq(2L));
+
+        mockMvc.perform(patch("/books/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void givenStreamRequestShouldWriteOneJsonObjectPerLine() throws Exception {
+        given(catalogStreamService.streamBooks()).willReturn(Flux.just(
+                BookDTO.builder().id(1L).name("Book1").prize(BigDecimal.ONE).build(),
+                BookDTO.builder().id(2L).name("Book2").prize(BigDecimal.TEN).build()));
+
+        MvcResult result = mockMvc.perform(get("/books/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(matchesPattern("(?s)\\{\"name\":\"Book1\",.*\\}\n\\{\"name\":\"Book2\",.*\\}\n")));
+    }
+
+    @Test
+    void givenMatchingIfNoneMatchShouldReturnNotModifiedWithoutLoadingBook() throws Exception {
+        given(bookService.findBookVersion(1L)).willReturn(new VersionDTO(3L, 1L, 2L, LAST_MODIFIED, null, null, null));
+
+        mockMvc.perform(get("/books/1").header(HttpHeaders.IF_NONE_MATCH, "\"3.1.2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3.1.2\""));
+
+        verify(bookService, never()).findBookById(any(), any());
+        verify(bookMapper, never()).toBookDto(any());
+    }
+
+    @Test
+    void givenUnchangedSinceIfModifiedSinceShouldReturnNotModified() throws Exception {
+        given(bookService.findBookVersion(1L)).willReturn(new VersionDTO(3L, 1L, 2L, LAST_MODIFIED, null, null, null));
+
+        mockMvc.perform(get("/books/1").header(HttpHeaders.IF_MODIFIED_SINCE, "Mon, 01 Jan 2024 11:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(bookService, never()).findBookById(any(), any());
+    }
+
+    @Test
+    void givenStaleIfNoneMatchShouldReturnBookWithValidators() throws Exception {
+        Book book = Book.builder()
+                .id(1L)
+                .version(4L)
+                .creationDate(LAST_MODIFIED)
+                .author(Author.builder().id(1L).version(1L).build())
+                .category(Category.builder().id(1L).version(2L).build())
+                .build();
+        given(bookService.findBookVersion(1L)).willReturn(new VersionDTO(4L, 1L, 2L, LAST_MODIFIED, null, null, null));
+        given(bookService.findBookById(1L, BookFetch.WITH_AUTHOR_AND_CATEGORY)).willReturn(book);
+        given(bookMapper.toBookDto(book)).willReturn(BookDTO.builder().name("Book1").prize(BigDecimal.ONE).build());
+
+        mockMvc.perform(get("/books/1").header(HttpHeaders.IF_NONE_MATCH, "\"3.1.2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4.1.2\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED,
+                        LAST_MODIFIED.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()))
+                .andExpect(jsonPath("$.name").value("Book1"));
+    }
+
+    @Test
+    void givenCompositeIfMatchShouldPassBookVersion() throws Exception {
+        mockMvc.perform(patch("/books/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3.1.2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"prize\": 19.99}"))
+                .andExpect(status().isNoContent());
+
+        verify(bookService).patchBook(eq(1L), any(), eq(3L));
+    }
+
+    @Test
+    void givenCachedBookShouldServeItWithoutQueryingService() throws Exception {
+        Book book = Book.builder()
+                .id(1L)
+                .version(4L)
+                .creationDate(LAST_MODIFIED)
+                .author(Author.builder().id(1L).version(1L).build())
+                .category(Category.builder().id(1L).version(2L).build())
+                .build();
+        given(bookService.findBookVersion(1L)).willReturn(new VersionDTO(4L, 1L, 2L, LAST_MODIFIED, null, null, null));
+        given(bookService.findBookById(1L, BookFetch.WITH_AUTHOR_AND_CATEGORY)).willReturn(book);
+        given(bookMapper.toBookDto(book)).willReturn(BookDTO.builder().id(1L).name("Book1").prize(BigDecimal.ONE).build());
+
+        mockMvc.perform(get("/books/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4.1.2\""))
+                .andExpect(jsonPath("$.name").value("Book1"));
+        mockMvc.perform(get("/books/1").header(HttpHeaders.IF_NONE_MATCH, "\"4.1.2\""))
+                .andExpect(status().isNotModified());
+
+        verify(bookService, times(1)).findBookVersion(1L);
+        verify(bookService, times(1)).findBookById(1L, BookFetch.WITH_AUTHOR_AND_CATEGORY);
+
+        bookResponseCache.evictBook(1L);
+        mockMvc.perform(get("/books/1")).andExpect(status().isOk());
+
+        verify(bookService, times(2)).findBookById(1L, BookFetch.WITH_AUTHOR_AND_CATEGORY);
+    }
+
+    @Test
+    void givenCachedAuthorBooksShouldServeThemUntilAuthorChanges() throws Exception {
+        BookDTO view = new BookDTO(1L, "Book1", "Test", BigDecimal.ONE, 100, 0L,
+                7L, "Author", "Test", 0L, 3L, "Category", "Test", 0L);
+        given(bookService.findBookViewsByAuthorId(7L)).willReturn(List.of(view));
+
+        MvcResult result = mockMvc.perform(get("/books/author/7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Book1"));
+        MvcResult cached = mockMvc.perform(get("/books/author/7")).andReturn();
+        mockMvc.perform(asyncDispatch(cached))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].name").value("Book1"));
+
+        verify(bookService, times(1)).findBookViewsByAuthorId(7L);
+
+        bookResponseCache.evictCategory(3L);
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/books/author/7")).andReturn()))
+                .andExpect(status().isOk());
+
+        verify(bookService, times(2)).findBookViewsByAuthorId(7L);
+    }
 }
@@ -0,0 +1,71 @@
+package com.jesus.pereira.bookstoreapi.resource;
+
+import com.jesus.pereira.bookstoreapi.exception.InvalidSearchCriteriaException;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFilterCriteria;
+import com.jesus.pereira.bookstoreapi.service.BookFilterService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookFilterController.class)
+public class BookFilterControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    BookFilterService bookFilterService;
+
+    @Test
+    void givenQueryParametersShouldBindSearchCriteria() throws Exception {
+        given(bookFilterService.filterBooks(any(), eq("token"), eq(5))).willReturn(new KeysetPage<>(List.of(), null));
+
+        mockMvc.perform(get("/books/filter")
+                        .param("name", "dublin")
+                        .param("minPrize", "9.99")
+                        .param("authorIds", "1", "2")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("sort", "prize")
+                        .param("direction", "desc")
+                        .param("continuationToken", "token")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+
+        ArgumentCaptor<BookFilterCriteria> criteria = ArgumentCaptor.forClass(BookFilterCriteria.class);
+        verify(bookFilterService).filterBooks(criteria.capture(), eq("token"), eq(5));
+        assertThat(criteria.getValue().getName()).isEqualTo("dublin");
+        assertThat(criteria.getValue().getMinPrize()).isEqualByComparingTo("9.99");
+        assertThat(criteria.getValue().getAuthorIds()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(criteria.getValue().getCreatedFrom()).isEqualTo(LocalDateTime.of(2024, 1, 1, 0, 0));
+        assertThat(criteria.getValue().getSort()).isEqualTo("prize");
+        assertThat(criteria.getValue().getDirection()).isEqualTo("desc");
+    }
+
+    @Test
+    void givenInvalidCriteriaShouldReturnBadRequest() throws Exception {
+        given(bookFilterService.filterBooks(any(), any(), anyInt()))
+                .willThrow(new InvalidSearchCriteriaException("Books cannot be sorted by nameKey"));
+
+        mockMvc.perform(get("/books/filter").param("sort", "nameKey"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Books cannot be sorted by nameKey"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.jesus.pereira.bookstoreapi.resource;
+
+import com.jesus.pereira.bookstoreapi.config.RequestExecutionConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestExecutorTest {
+
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (taskExecutor != null) {
+            taskExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void givenNoExecutorShouldRunOnCallerThread() {
+        RequestExecutor requestExecutor = new RequestExecutor(Optional.empty());
+
+        String threadName = requestExecutor.supply(() -> Thread.currentThread().getName()).join();
+
+        assertThat(threadName).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void givenExecutorShouldRunOnRequestThread() {
+        taskExecutor = executor(2, 10);
+        RequestExecutor requestExecutor = new RequestExecutor(Optional.of(taskExecutor));
+
+        String threadName = requestExecutor.supply(() -> Thread.currentThread().getName()).join();
+
+        assertThat(threadName).startsWith("request-");
+    }
+
+    @Test
+    void givenSaturatedExecutorShouldRejectRequest() throws InterruptedException {
+        taskExecutor = executor(1, 0);
+        RequestExecutor requestExecutor = new RequestExecutor(Optional.of(taskExecutor));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        requestExecutor.supply(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> requestExecutor.supply(() -> "rejected"))
+                .isInstanceOf(TaskRejectedException.class);
+        release.countDown();
+    }
+
+    private static ThreadPoolTaskExecutor executor(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new RequestExecutionConfiguration().requestTaskExecutor(threads, queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,158 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookFacetIndexTest {
+
+    private BookFacetIndex bookFacetIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookFacetIndex = new BookFacetIndex();
+        bookFacetIndex.indexAll(List.of(
+                new BookFigures(1L, 1L, 1L, new BigDecimal("9.99"), 120, 0L),
+                new BookFigures(2L, 1L, 2L, new BigDecimal("15.00"), 250, 0L),
+                new BookFigures(3L, 2L, 1L, new BigDecimal("20.00"), 90, 0L),
+                new BookFigures(4L, 2L, 2L, new BigDecimal("35.50"), 410, 0L),
+                new BookFigures(5L, 3L, 1L, new BigDecimal("12.00"), 300, 0L)));
+    }
+
+    @Test
+    void givenNoFiltersShouldMatchEveryBookAndCountAllFacets() {
+        BookFacetResult result = bookFacetIndex.query(BookFacetQuery.builder().build(), null, null, 10);
+
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.getIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(result.getAuthors()).isEqualTo(Map.of(1L, 2, 2L, 2, 3L, 1));
+        assertThat(result.getCategories()).isEqualTo(Map.of(1L, 3, 2L, 2));
+        assertThat(result.getPrizeRanges()).containsEntry(BigDecimal.ZERO, 1).containsEntry(BigDecimal.TEN, 2);
+        assertThat(result.getPageRanges()).isEqualTo(Map.of(0, 1, 100, 1, 200, 1, 300, 1, 400, 1));
+    }
+
+    @Test
+    void givenCombinedFiltersShouldIntersectThemAndCountEachFacetWithoutItsOwnFilter() {
+        BookFacetQuery query = BookFacetQuery.builder()
+                .minPrize(new BigDecimal("10.00"))
+                .maxPrize(new BigDecimal("20.00"))
+                .categoryIds(Set.of(1L))
+                .build();
+
+        BookFacetResult result = bookFacetIndex.query(query, null, null, 10);
+
+        assertThat(result.getIds()).containsExactly(3L, 5L);
+        assertThat(result.getAuthors()).isEqualTo(Map.of(2L, 1, 3L, 1));
+        assertThat(result.getCategories()).isEqualTo(Map.of(1L, 2, 2L, 1));
+    }
+
+    @Test
+    void givenFacetLimitShouldKeepOnlyMostFrequentAuthorsAndCategories() {
+        BookFacetResult top = bookFacetIndex.query(BookFacetQuery.builder().facetLimit(1).build(), null, null, 10);
+        BookFacetResult none = bookFacetIndex.query(BookFacetQuery.builder().facetLimit(0).build(), null, null, 10);
+
+        assertThat(top.getAuthors()).containsExactly(Map.entry(1L, 2));
+        assertThat(top.getCategories()).containsExactly(Map.entry(1L, 3));
+        assertThat(top.getTotal()).isEqualTo(5);
+        assertThat(none.getAuthors()).isEmpty();
+        assertThat(none.getCategories()).isEmpty();
+        assertThat(none.getPageRanges()).hasSize(5);
+    }
+
+    @Test
+    void givenPageBoundsInsideRangesShouldCheckExactPages() {
+        BookFacetQuery query = BookFacetQuery.builder().minPages(100).maxPages(299).build();
+
+        assertThat(bookFacetIndex.query(query, null, null, 10).getIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void givenPrizeBoundsFarOutsideIndexedRangesShouldClampThem() {
+        BookFacetQuery aboveAll = BookFacetQuery.builder().minPrize(new BigDecimal("1e30")).build();
+        BookFacetQuery belowAll = BookFacetQuery.builder().maxPrize(new BigDecimal("-1e30")).build();
+        BookFacetQuery spanningAll = BookFacetQuery.builder()
+                .minPrize(new BigDecimal("-1e30"))
+                .maxPrize(new BigDecimal("1e30"))
+                .build();
+
+        assertThat(bookFacetIndex.query(aboveAll, null, null, 10).getTotal()).isZero();
+        assertThat(bookFacetIndex.query(belowAll, null, null, 10).getTotal()).isZero();
+        assertThat(bookFacetIndex.query(spanningAll, null, null, 10).getTotal()).isEqualTo(5);
+    }
+
+    @Test
+    void givenNameMatchesAndLastIdShouldPageThroughMatchingIds() {
+        BookFacetQuery query = BookFacetQuery.builder().authorIds(Set.of(1L, 2L)).build();
+
+        BookFacetResult result = bookFacetIndex.query(query, List.of(2L, 3L, 4L, 5L), 2L, 1);
+
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getIds()).containsExactly(3L);
+    }
+
+    @Test
+    void givenReusedSlotsShouldStillPageInIdOrder() {
+        bookFacetIndex.remove(1L);
+        bookFacetIndex.remove(2L);
+        bookFacetIndex.index(new BookFigures(7L, 1L, 1L, BigDecimal.ONE, 10, 0L));
+        bookFacetIndex.index(new BookFigures(6L, 1L, 1L, BigDecimal.ONE, 10, 0L));
+
+        BookFacetQuery query = BookFacetQuery.builder().build();
+
+        assertThat(bookFacetIndex.query(query, null, null, 2).getIds()).containsExactly(3L, 4L);
+        assertThat(bookFacetIndex.query(query, null, 4L, 2).getIds()).containsExactly(5L, 6L);
+        assertThat(bookFacetIndex.query(query, null, 6L, 2).getIds()).containsExactly(7L);
+        assertThat(bookFacetIndex.query(query, null, 6L, 2).getTotal()).isEqualTo(5);
+    }
+
+    @Test
+    void givenReindexedOrRemovedBooksShouldReflectLatestState() {
+        bookFacetIndex.index(new BookFigures(1L, 3L, 2L, new BigDecimal("50.00"), 120, 1L));
+        bookFacetIndex.remove(4L);
+
+        BookFacetResult result = bookFacetIndex.query(BookFacetQuery.builder().categoryIds(Set.of(2L)).build(), null, null, 10);
+
+        assertThat(result.getIds()).containsExactly(1L, 2L);
+        assertThat(result.getAuthors()).isEqualTo(Map.of(1L, 1, 3L, 1));
+        assertThat(bookFacetIndex.size()).isEqualTo(4);
+
+        bookFacetIndex.index(new BookFigures(6L, 1L, 1L, BigDecimal.ONE, 10, 0L));
+        assertThat(bookFacetIndex.size()).isEqualTo(5);
+    }
+
+    @Test
+    void givenChangesOutOfOrderShouldKeepNewestVersionAndDeletions() {
+        bookFacetIndex.index(new BookFigures(1L, 3L, 1L, BigDecimal.ONE, 10, 2L));
+        bookFacetIndex.index(new BookFigures(1L, 2L, 1L, BigDecimal.ONE, 10, 1L));
+        bookFacetIndex.remove(8L);
+        bookFacetIndex.index(new BookFigures(8L, 1L, 1L, BigDecimal.ONE, 10, 0L));
+
+        BookFacetResult result = bookFacetIndex.query(BookFacetQuery.builder().authorIds(Set.of(3L)).build(), null, null, 10);
+
+        assertThat(result.getIds()).containsExactly(1L, 5L);
+        assertThat(bookFacetIndex.size()).isEqualTo(5);
+    }
+
+    @Test
+    void givenRebuildShouldIndexSnapshotAndKeepChangesMadeMeanwhile() {
+        bookFacetIndex.beginRebuild();
+        bookFacetIndex.index(new BookFigures(6L, 3L, 1L, BigDecimal.ONE, 10, 0L));
+        bookFacetIndex.remove(2L);
+        bookFacetIndex.finishRebuild(List.of(
+                new BookFigures(1L, 1L, 1L, new BigDecimal("9.99"), 120, 0L),
+                new BookFigures(2L, 1L, 2L, new BigDecimal("15.00"), 250, 0L),
+                new BookFigures(3L, 3L, 1L, new BigDecimal("20.00"), 90, 1L)));
+
+        BookFacetResult result = bookFacetIndex.query(BookFacetQuery.builder().build(), null, null, 10);
+
+        assertThat(result.getIds()).containsExactly(1L, 3L, 6L);
+        assertThat(result.getAuthors()).isEqualTo(Map.of(1L, 1, 3L, 2));
+    }
+}
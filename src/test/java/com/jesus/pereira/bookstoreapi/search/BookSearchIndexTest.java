@@ -0,0 +1,75 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookSearchIndexTest {
+
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex();
+        bookSearchIndex.indexAll(List.of(
+                book(1L, "Ulises", "A novel about Dublin"),
+                book(2L, "Dubliners", "Short stories"),
+                book(3L, "The Odyssey", "Ulises goes home"),
+                book(4L, "Comedy", null)));
+    }
+
+    @Test
+    void givenSubstringShouldReturnBooksContainingIt() {
+        assertThat(bookSearchIndex.searchPrimaryField("LISE")).containsExactly(1L);
+        assertThat(bookSearchIndex.searchPrimaryField("dy")).containsExactly(3L, 4L);
+        assertThat(bookSearchIndex.searchPrimaryField("ODY")).containsExactly(3L);
+        assertThat(bookSearchIndex.searchPrimaryField("xyz")).isEmpty();
+    }
+
+    @Test
+    void givenQueryShorterThanGramShouldScanDocumentsUpToLimit() {
+        assertThat(bookSearchIndex.searchPrimaryField("d", 2)).containsExactly(2L, 3L);
+        assertThat(bookSearchIndex.searchPrimaryField("d", 10)).containsExactly(2L, 3L, 4L);
+        assertThat(bookSearchIndex.search("u", 1)).containsExactly(1L);
+    }
+
+    @Test
+    void givenQueryShouldRankNameMatchesBeforeDescriptionMatches() {
+        assertThat(bookSearchIndex.search("ulises", 10)).containsExactly(1L, 3L);
+        assertThat(bookSearchIndex.search("dublin", 10)).containsExactly(2L, 1L);
+        assertThat(bookSearchIndex.search("dublin", 1)).containsExactly(2L);
+    }
+
+    @Test
+    void givenUpdatedOrRemovedBookShouldReflectLatestState() {
+        bookSearchIndex.index(book(1L, "Finnegans Wake", "Joyce"));
+        bookSearchIndex.remove(2L);
+
+        assertThat(bookSearchIndex.searchPrimaryField("ulises")).isEmpty();
+        assertThat(bookSearchIndex.searchPrimaryField("finnegans")).containsExactly(1L);
+        assertThat(bookSearchIndex.search("dublin", 10)).isEmpty();
+        assertThat(bookSearchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    void givenPrefixShouldSuggestIndexedBookNames() {
+        bookSearchIndex.index(book(1L, "Dune", null));
+
+        assertThat(bookSearchIndex.suggest("du", 10)).containsExactly("Dubliners", "Dune");
+        assertThat(bookSearchIndex.suggest("uli", 10)).isEmpty();
+        assertThat(bookSearchIndex.suggest("u", 10)).isEmpty();
+        assertThat(bookSearchIndex.suggest("the", 10)).containsExactly("The Odyssey");
+    }
+
+    private Book book(Long id, String name, String description) {
+        return Book.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NameBloomFilterTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    void givenAddedKeysShouldAlwaysReportThem() {
+        NameBloomFilter filter = new NameBloomFilter(KEYS, 0.01);
+        IntStream.range(0, KEYS).forEach(i -> filter.add("book" + i));
+
+        assertThat(IntStream.range(0, KEYS).allMatch(i -> filter.mightContain("book" + i))).isTrue();
+    }
+
+    @Test
+    void givenUnknownKeysShouldKeepFalsePositivesNearConfiguredRate() {
+        NameBloomFilter filter = new NameBloomFilter(KEYS, 0.01);
+        IntStream.range(0, KEYS).forEach(i -> filter.add("book" + i));
+
+        long falsePositives = IntStream.range(0, KEYS).filter(i -> filter.mightContain("author" + i)).count();
+
+        assertThat(falsePositives).isLessThan(KEYS / 50);
+    }
+
+    @Test
+    void givenClearedFilterShouldForgetKeys() {
+        NameBloomFilter filter = new NameBloomFilter(KEYS, 0.01);
+        filter.add("book");
+
+        filter.clear();
+
+        assertThat(filter.mightContain("book")).isFalse();
+    }
+}
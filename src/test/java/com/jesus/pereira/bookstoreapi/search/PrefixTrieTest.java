@@ -0,0 +1,60 @@
+package com.jesus.pereira.bookstoreapi.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrefixTrieTest {
+
+    private PrefixTrie prefixTrie;
+
+    @BeforeEach
+    void setUp() {
+        prefixTrie = new PrefixTrie();
+        prefixTrie.add("Dune");
+        prefixTrie.add("Dune Messiah");
+        prefixTrie.add("Dubliners");
+        prefixTrie.add("Don Quixote");
+    }
+
+    @Test
+    void givenPrefixShouldReturnCompletionsInLexicographicOrder() {
+        assertThat(prefixTrie.suggest("du", 10)).containsExactly("Dubliners", "Dune", "Dune Messiah");
+        assertThat(prefixTrie.suggest("DUNE", 10)).containsExactly("Dune", "Dune Messiah");
+        assertThat(prefixTrie.suggest("x", 10)).isEmpty();
+        assertThat(prefixTrie.suggest("", 10)).isEmpty();
+    }
+
+    @Test
+    void givenLimitShouldReturnAtMostLimitCompletions() {
+        assertThat(prefixTrie.suggest("d", 2)).containsExactly("Don Quixote", "Dubliners");
+    }
+
+    @Test
+    void givenLargeSubtreeShouldReturnFirstCompletionsInOrder() {
+        for (int i = 99_999; i >= 0; i--) {
+            prefixTrie.add(String.format("Dark Tower %06d", i));
+        }
+        prefixTrie.add("Dark");
+
+        assertThat(prefixTrie.suggest("d", 3)).containsExactly("Dark", "Dark Tower 000000", "Dark Tower 000001");
+        assertThat(prefixTrie.suggest("dark tower 0999", 3))
+                .containsExactly("Dark Tower 099900", "Dark Tower 099901", "Dark Tower 099902");
+        assertThat(prefixTrie.suggest("dark tower", 100_001)).hasSize(100_000);
+    }
+
+    @Test
+    void givenDuplicatedTermShouldKeepItUntilLastRemoval() {
+        prefixTrie.add("Dune");
+        prefixTrie.remove("Dune");
+
+        assertThat(prefixTrie.suggest("dune", 10)).containsExactly("Dune", "Dune Messiah");
+
+        prefixTrie.remove("Dune");
+        prefixTrie.remove("Dune Messiah");
+
+        assertThat(prefixTrie.suggest("dun", 10)).isEmpty();
+        assertThat(prefixTrie.suggest("du", 10)).containsExactly("Dubliners");
+    }
+}
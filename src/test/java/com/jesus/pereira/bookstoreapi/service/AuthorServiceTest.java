@@ -1,26 +1,44 @@
 package com.jesus.pereira.bookstoreapi.service;
 
+import com.jesus.pereira.bookstoreapi.cache.BookResponseCache;
 import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
 import com.jesus.pereira.bookstoreapi.exception.AuthorAlreadyExistsException;
 import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
+import com.jesus.pereira.bookstoreapi.exception.StaleVersionException;
 import com.jesus.pereira.bookstoreapi.mapper.AuthorMapper;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
 import com.jesus.pereira.bookstoreapi.repository.AuthorRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
 import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorPatchDTO;
+import com.jesus.pereira.bookstoreapi.search.AuthorSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.BookFacetIndex;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.ExistingNameFilter;
 import com.jesus.pereira.bookstoreapi.service.impl.AuthorServiceImpl;
+import com.jesus.pereira.bookstoreapi.statistics.CatalogStatistics;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -34,6 +52,30 @@ public class AuthorServiceTest {
     @Mock
     AuthorMapper authorMapper;
 
+    @Spy
+    AuthorSearchIndex authorSearchIndex = new AuthorSearchIndex();
+
+    @Mock
+    BookRepository bookRepository;
+
+    @Spy
+    BookSearchIndex bookSearchIndex = new BookSearchIndex();
+
+    @Mock
+    BookResponseCache bookResponseCache;
+
+    @Mock
+    BookViewRepository bookViewRepository;
+
+    @Spy
+    ExistingNameFilter existingNameFilter = new ExistingNameFilter(1000);
+
+    @Spy
+    CatalogStatistics catalogStatistics = new CatalogStatistics();
+
+    @Spy
+    BookFacetIndex bookFacetIndex = new BookFacetIndex();
+
     @InjectMocks
     AuthorServiceImpl authorService;
 
@@ -59,6 +101,19 @@ public class AuthorServiceTest {
                 .build();
     }
 
+    @Test
+    void givenPageSizeShouldReturnKeysetPageOfAuthorViews() {
+        AuthorDTO view1 = AuthorDTO.builder().id(1L).name("Author1").surname("Test1").build();
+        AuthorDTO view2 = AuthorDTO.builder().id(2L).name("Author2").surname("Test2").build();
+
+        given(authorRepository.findAuthorViewsAfter(eq(0L), any())).willReturn(List.of(view1, view2));
+        KeysetPage<AuthorDTO> page = authorService.findAllAuthorViews(null, 1);
+
+        verify(authorMapper, times(0)).toAuthorDto(any());
+        assertThat(page.getContent()).containsExactly(view1);
+        assertThat(ContinuationToken.decode(page.getNextToken())).isEqualTo(1L);
+    }
+
     @Test
     void givenAnIdShouldReturnAnAuthor() {
         Long id = 1L;
@@ -72,6 +127,18 @@ public class AuthorServiceTest {
         assertThat(retrievedAuthor).usingRecursiveComparison().isEqualTo(author1);
     }
 
+    @Test
+    void givenIdsShouldReturnFoundAuthorsInRequestOrder() {
+        author1.setId(1L);
+        author2.setId(2L);
+
+        given(authorRepository.findAllById(List.of(2L, 3L, 1L))).willReturn(List.of(author1, author2));
+        List<Author> authors = authorService.findAuthorsByIds(List.of(2L, 3L, 2L, 1L));
+
+        verify(authorRepository, times(1)).findAllById(any());
+        assertThat(authors).containsExactly(author2, author1);
+    }
+
     @Test
     void givenSearchRequestShouldReturnAllAuthors() {
 
@@ -92,17 +159,38 @@ public class AuthorServiceTest {
     void givenNameShouldReturnAllAuthorsWithNameLike() {
 
         String name = "aut";
+        author1.setId(1L);
+        author2.setId(2L);
+        author3.setId(3L);
         List<Author> authorList = new ArrayList<>();
         authorList.add(author1);
         authorList.add(author2);
 
-        given(authorRepository.findByNameContainingIgnoreCase(name)).willReturn(authorList);
+        authorSearchIndex.indexAll(List.of(author1, author2, author3));
+        given(authorRepository.findAllById(List.of(1L, 2L))).willReturn(authorList);
         List<Author> retrievedAuthors = authorService.findAuthorsByNameLike(name);
 
         assertThat(retrievedAuthors).isNotEmpty();
         assertThat(retrievedAuthors).size().isEqualTo(2);
     }
 
+    @Test
+    void givenQueryShouldReturnRankedAuthors() {
+        author1.setId(1L);
+        author3.setId(3L);
+        Author author4 = Author.builder()
+                .id(4L)
+                .name("Mary")
+                .surname("Jhonson")
+                .build();
+
+        authorSearchIndex.indexAll(List.of(author1, author3, author4));
+        given(authorRepository.findAllById(List.of(3L, 4L))).willReturn(List.of(author4, author3));
+        List<Author> retrievedAuthors = authorService.searchAuthors("jho", 10);
+
+        assertThat(retrievedAuthors).containsExactly(author3, author4);
+    }
+
     @Test
     void givenSaveRequestShouldSaveAuthor() {
         AuthorDTO authorDTO = AuthorDTO.builder()
@@ -114,14 +202,17 @@ public class AuthorServiceTest {
                 .surname("Test4")
                 .build();
 
-        given(authorRepository.findByNameAndSurnameIgnoreCase(authorDTO.getName(), authorDTO.getSurname()))
-                .willReturn(Optional.empty());
         given(authorMapper.toAuthor(authorDTO)).willReturn(authorToPersist);
-        given(authorRepository.save(authorToPersist)).willAnswer(
-                invocationOnMock -> invocationOnMock.getArgument(0));
+        given(authorRepository.save(authorToPersist)).willAnswer(invocationOnMock -> {
+            Author saved = invocationOnMock.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
         Author authorPersisted = authorService.createAuthor(authorDTO);
 
         verify(authorRepository, times(1)).save(any());
+        verify(authorRepository, times(0)).findByNameAndSurnameIgnoreCase(any(), any());
+        assertThat(existingNameFilter.mightContainAuthor("authordto", "test4")).isTrue();
         assertThat(authorPersisted).isNotNull();
         assertThat(authorPersisted).usingRecursiveComparison()
                 .ignoringFields("id")
@@ -130,41 +221,99 @@ public class AuthorServiceTest {
 
     @Test
     void givenUpdateRequestAndIdShouldUpdateAuthor() {
-
         final Long id = 1L;
 
         AuthorDTO authorDTO = AuthorDTO.builder()
                 .name("AuthorDTO")
                 .surname("Test4")
                 .build();
-        Author authorToPersist = Author.builder()
-                .id(1L)
-                .name("AuthorDTO")
-                .surname("Test4")
-                .build();
+        author1.setId(id);
+        author1.setVersion(2L);
 
-        given(authorMapper.toAuthorUpdate(authorDTO, id)).willReturn(authorToPersist);
-        given(authorRepository.findById(id)).willReturn(Optional.of(authorToPersist));
-        given(authorRepository.save(authorToPersist)).willReturn(authorToPersist);
+        given(authorRepository.findById(id)).willReturn(Optional.of(author1));
 
-        final Author authorUpdated = authorService.updateAuthor(authorDTO, id);
+        final Author authorUpdated = authorService.updateAuthor(authorDTO, id, 2L);
 
-        verify(authorRepository, times(1)).findById(any());
-        verify(authorRepository,times(1)).save(any());
-        assertThat(authorUpdated).usingRecursiveComparison().ignoringFields("id")
-                .isNotEqualTo(author1);
+        verify(authorMapper, times(1)).updateAuthor(authorDTO, author1);
+        verify(authorRepository, times(0)).save(any());
+        assertThat(authorUpdated).isSameAs(author1);
     }
 
     @Test
-    void givenAnIdShouldDeleteAuthor() {
+    void givenStaleVersionShouldNotUpdateAuthor() {
         final Long id = 1L;
         author1.setId(id);
+        author1.setVersion(3L);
+
         given(authorRepository.findById(id)).willReturn(Optional.of(author1));
 
+        assertThatThrownBy(() -> authorService.updateAuthor(new AuthorDTO(), id, 2L))
+                .isInstanceOf(StaleVersionException.class);
+        verify(authorMapper, times(0)).updateAuthor(any(), any());
+    }
+
+    @Test
+    void givenPatchRequestShouldChangeOnlyGivenFieldsOfManagedAuthor() {
+        final Long id = 1L;
+        author1.setId(id);
+        author1.setVersion(2L);
+        AuthorPatchDTO changes = AuthorPatchDTO.builder().surname("Renamed").build();
+
+        given(authorRepository.findById(id)).willReturn(Optional.of(author1));
+
+        authorService.patchAuthor(id, changes, 2L);
+
+        verify(authorRepository, times(1)).flush();
+        verify(authorRepository, times(0)).save(any());
+        verify(authorSearchIndex, times(1)).index(author1);
+        assertThat(author1.getName()).isEqualTo("Author1");
+        assertThat(author1.getSurname()).isEqualTo("Renamed");
+        assertThat(author1.getUpdateDate()).isNotNull();
+    }
+
+    @Test
+    void givenPatchRequestForMissingAuthorShouldThrowException() {
+        given(authorRepository.findById(1L)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authorService.patchAuthor(1L, AuthorPatchDTO.builder().surname("Renamed").build(), null))
+                .isInstanceOf(NoSuchElementExistsException.class);
+    }
+
+    @Test
+    void givenPatchRequestWithStaleVersionShouldThrowException() {
+        author1.setId(1L);
+        author1.setVersion(3L);
+        given(authorRepository.findById(1L)).willReturn(Optional.of(author1));
+
+        assertThatThrownBy(() -> authorService.patchAuthor(1L, AuthorPatchDTO.builder().surname("Renamed").build(), 2L))
+                .isInstanceOf(StaleVersionException.class);
+        verify(authorRepository, times(0)).flush();
+    }
+
+    @Test
+    void givenAnIdShouldDeleteAuthor() {
+        final Long id = 1L;
+        Book book = Book.builder().id(10L).name("Book1").description("Test").build();
+        bookSearchIndex.index(book);
+        given(bookRepository.findIdsByAuthorId(id)).willReturn(List.of(10L));
+        Author author = Author.builder().id(id).name("Name").surname("Surname").build();
+        given(authorRepository.findById(id)).willReturn(Optional.of(author));
+
         authorService.deleteAuthor(id);
 
-        verify(authorRepository, times(1)).findById(any());
-        verify(authorRepository, times(1)).deleteById(1L);
+        verify(bookRepository, times(1)).deleteBooksByAuthorId(id);
+        verify(authorRepository, times(1)).delete(author);
+        verify(bookResponseCache, times(1)).evictAuthor(id);
+        assertThat(bookSearchIndex.size()).isZero();
+    }
+
+    @Test
+    void givenAnAuthorIdNotPersistedWhenDeletingShouldThrowException() {
+        given(authorRepository.findById(1L)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authorService.deleteAuthor(1L))
+                .isInstanceOf(NoSuchElementExistsException.class);
+        verify(bookRepository, times(0)).deleteBooksByAuthorId(any());
     }
 
     @Test
@@ -184,8 +333,27 @@ public class AuthorServiceTest {
                 .surname("Test4")
                 .build();
 
+        existingNameFilter.addAuthor("AuthorDTO", "Test4");
+
         given(authorRepository.findByNameAndSurnameIgnoreCase(any(), any())).willReturn(Optional.of(author1));
         assertThatThrownBy(() -> authorService.createAuthor(authorDTO))
                 .isInstanceOf(AuthorAlreadyExistsException.class);
+        verify(authorRepository, times(0)).save(any());
+    }
+
+    @Test
+    void givenUniqueNameViolationWhenSavingShouldThrowAuthorAlreadyExists() {
+        AuthorDTO authorDTO = AuthorDTO.builder()
+                .name("AuthorDTO")
+                .surname("Test4")
+                .build();
+
+        given(authorMapper.toAuthor(authorDTO)).willReturn(author1);
+        given(authorRepository.save(author1)).willThrow(new DataIntegrityViolationException("violation",
+                new ConstraintViolationException("violation", new SQLException("violation"),
+                        "PUBLIC.UX_AUTHOR_NAME_SURNAME ON PUBLIC.AUTHOR(NAME_KEY, SURNAME_KEY)")));
+
+        assertThatThrownBy(() -> authorService.createAuthor(authorDTO))
+                .isInstanceOf(AuthorAlreadyExistsException.class);
     }
 }
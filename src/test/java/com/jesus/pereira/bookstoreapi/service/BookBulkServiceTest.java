@@ -0,0 +1,183 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.cache.BookResponseCache;
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkItemErrorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkResultDTO;
+import com.jesus.pereira.bookstoreapi.search.BookFacetIndex;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.ExistingNameFilter;
+import com.jesus.pereira.bookstoreapi.statistics.CatalogStatistics;
+import com.jesus.pereira.bookstoreapi.service.impl.BookBulkServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class BookBulkServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    BookRepository bookRepository;
+
+    @Mock
+    BookMapper bookMapper;
+
+    @Mock
+    AuthorService authorService;
+
+    @Mock
+    CategoryService categoryService;
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    BookResponseCache bookResponseCache;
+
+    @Mock
+    BookViewRepository bookViewRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    BookSearchIndex bookSearchIndex;
+
+    ExistingNameFilter existingNameFilter;
+
+    CatalogStatistics catalogStatistics;
+
+    BookFacetIndex bookFacetIndex;
+
+    BookBulkService bookBulkService;
+
+    private Author author;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex();
+        existingNameFilter = new ExistingNameFilter(1000);
+        catalogStatistics = new CatalogStatistics();
+        bookFacetIndex = new BookFacetIndex();
+        bookBulkService = new BookBulkServiceImpl(bookRepository, bookMapper, authorService, categoryService,
+                bookSearchIndex, entityManager, bookResponseCache, bookViewRepository, existingNameFilter,
+                catalogStatistics, bookFacetIndex, new TransactionTemplate(transactionManager), BATCH_SIZE);
+
+        author = Author.builder()
+                .id(1L)
+                .name("Author1")
+                .surname("Test")
+                .build();
+
+        category = Category.builder()
+                .id(1L)
+                .name("Category1")
+                .description("Test1")
+                .build();
+
+        given(authorService.findAuthorsByIds(anyCollection())).willReturn(List.of(author));
+        given(categoryService.findCategoriesByIds(anyCollection())).willReturn(List.of(category));
+    }
+
+    @Test
+    void givenValidBatchShouldPersistAllBooksFlushingPerBatch() {
+        List<BookDTO> bookRequests = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> bookDto("Book" + i, 1L, 1L))
+                .collect(Collectors.toList());
+
+        given(bookMapper.toBook(any())).willAnswer(invocation -> toBook(invocation.getArgument(0)));
+        AtomicLong ids = new AtomicLong();
+        willAnswer(invocation -> {
+            invocation.<Book>getArgument(0).setId(ids.incrementAndGet());
+            return null;
+        }).given(entityManager).persist(any(Book.class));
+
+        BulkResultDTO result = bookBulkService.createBooks(bookRequests);
+
+        verify(bookRepository, times(0)).findExistingNames(anyCollection());
+        assertThat(existingNameFilter.mightContainBook("BOOK3")).isTrue();
+        assertThat(result.getReceived()).isEqualTo(5);
+        assertThat(result.getCreated()).isEqualTo(5);
+        assertThat(result.getErrors()).isEmpty();
+        verify(entityManager, times(5)).persist(any(Book.class));
+        verify(bookRepository, times(3)).flush();
+        verify(authorService, times(1)).findAuthorsByIds(anyCollection());
+        verify(categoryService, times(1)).findCategoriesByIds(anyCollection());
+        verify(bookResponseCache, times(1)).evictBookLists(Set.of(1L), Set.of(1L));
+    }
+
+    @Test
+    void givenInvalidItemsShouldReportErrorsPerItem() {
+        List<BookDTO> bookRequests = new ArrayList<>();
+        bookRequests.add(bookDto("Existing", 1L, 1L));
+        bookRequests.add(bookDto("New", 1L, 1L));
+        bookRequests.add(bookDto("new", 1L, 1L));
+        bookRequests.add(bookDto("Orphan", 9L, 1L));
+        bookRequests.add(bookDto("Uncategorized", 1L, 9L));
+        bookRequests.add(bookDto(" ", 1L, 1L));
+
+        existingNameFilter.addBook("Existing");
+        given(bookRepository.findExistingNames(List.of("existing"))).willReturn(Set.of("existing"));
+        given(bookMapper.toBook(any())).willAnswer(invocation -> toBook(invocation.getArgument(0)));
+        willAnswer(invocation -> {
+            invocation.<Book>getArgument(0).setId(1L);
+            return null;
+        }).given(entityManager).persist(any(Book.class));
+
+        BulkResultDTO result = bookBulkService.createBooks(bookRequests);
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(BulkItemErrorDTO::getIndex).containsExactly(0, 2, 3, 4, 5);
+        assertThat(result.getErrors().get(2).getError()).isEqualTo("No author exists with id 9");
+        assertThat(bookSearchIndex.searchPrimaryField("new")).hasSize(1);
+    }
+
+    private BookDTO bookDto(String name, Long authorId, Long categoryId) {
+        return BookDTO.builder()
+                .name(name)
+                .description("Bulk book")
+                .prize(new BigDecimal("19.99"))
+                .pages(100)
+                .authorId(authorId)
+                .categoryId(categoryId)
+                .build();
+    }
+
+    private Book toBook(BookDTO bookDTO) {
+        return Book.builder()
+                .name(bookDTO.getName())
+                .description(bookDTO.getDescription())
+                .prize(bookDTO.getPrize())
+                .pages(bookDTO.getPages())
+                .build();
+    }
+}
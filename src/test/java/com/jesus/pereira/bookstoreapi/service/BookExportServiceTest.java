@@ -0,0 +1,104 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.service.impl.BookExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class BookExportServiceTest {
+
+    @Mock
+    BookRepository bookRepository;
+
+    @Mock
+    EntityManager entityManager;
+
+    BookExportService bookExportService;
+
+    private Author author;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        bookExportService = new BookExportServiceImpl(bookRepository, entityManager, new ObjectMapper());
+
+        author = Author.builder()
+                .id(1L)
+                .name("Author1")
+                .surname("Test")
+                .build();
+
+        category = Category.builder()
+                .id(1L)
+                .name("Category1")
+                .description("Test1")
+                .build();
+    }
+
+    @Test
+    void givenBooksShouldWriteOneJsonObjectPerLine() throws Exception {
+        given(bookRepository.streamAllWithAuthorAndCategory()).willReturn(Stream.of(book(1L), book(2L)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exported = bookExportService.exportBooks(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(first.get("name").asText()).isEqualTo("Book1");
+        assertThat(first.get("prize").decimalValue()).isEqualByComparingTo("39.99");
+        assertThat(first.get("author").get("surname").asText()).isEqualTo("Test");
+        assertThat(first.get("category").get("name").asText()).isEqualTo("Category1");
+        assertThat(first.get("updateDate").isNull()).isTrue();
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void givenManyBooksShouldClearPersistenceContextPeriodically() throws Exception {
+        given(bookRepository.streamAllWithAuthorAndCategory())
+                .willReturn(IntStream.rangeClosed(1, 1200).mapToObj(id -> book((long) id)));
+
+        long exported = bookExportService.exportBooks(new ByteArrayOutputStream());
+
+        assertThat(exported).isEqualTo(1200);
+        verify(entityManager, atLeastOnce()).clear();
+    }
+
+    private Book book(Long id) {
+        return Book.builder()
+                .id(id)
+                .name("Book" + id)
+                .description("Book number " + id)
+                .prize(new BigDecimal("39.99"))
+                .pages(100)
+                .creationDate(LocalDateTime.now())
+                .author(author)
+                .category(category)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFacetsDTO;
+import com.jesus.pereira.bookstoreapi.search.BookFacetIndex;
+import com.jesus.pereira.bookstoreapi.search.BookFacetQuery;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.service.impl.BookFacetServiceImpl;
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class BookFacetServiceTest {
+
+    @Spy
+    BookFacetIndex bookFacetIndex = new BookFacetIndex();
+
+    @Spy
+    BookSearchIndex bookSearchIndex = new BookSearchIndex();
+
+    @Mock
+    BookViewRepository bookViewRepository;
+
+    @InjectMocks
+    BookFacetServiceImpl bookFacetService;
+
+    @BeforeEach
+    void setUp() {
+        bookFacetIndex.index(new BookFigures(1L, 1L, 1L, new BigDecimal("10.00"), 100, 0L));
+        bookFacetIndex.index(new BookFigures(2L, 1L, 2L, new BigDecimal("20.00"), 200, 0L));
+        bookFacetIndex.index(new BookFigures(3L, 2L, 1L, new BigDecimal("30.00"), 300, 0L));
+        bookSearchIndex.indexAll(List.of(
+                Book.builder().id(1L).name("Dubliners").build(),
+                Book.builder().id(2L).name("Ulises").build(),
+                Book.builder().id(3L).name("Dublin Noir").build()));
+    }
+
+    @Test
+    void givenFiltersShouldLoadOnlyTheMatchingPageAndReturnFacetCounts() {
+        given(bookViewRepository.findBookViewsByIds(List.of(1L, 3L)))
+                .willReturn(List.of(view(1L, "Dubliners"), view(3L, "Dublin Noir")));
+
+        BookFacetsDTO facets = bookFacetService.findBooks(
+                BookFacetQuery.builder().name("dublin").categoryIds(Set.of(1L)).build(), null, 1);
+
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.getContent()).extracting(BookDTO::getId).containsExactly(1L);
+        assertThat(facets.getNextToken()).isNotNull();
+        assertThat(facets.getAuthors()).isEqualTo(Map.of(1L, 1, 2L, 1));
+        assertThat(facets.getCategories()).isEqualTo(Map.of(1L, 2));
+    }
+
+    @Test
+    void givenNoMatchesShouldNotQueryBookViews() {
+        BookFacetsDTO facets = bookFacetService.findBooks(
+                BookFacetQuery.builder().minPages(1000).build(), null, 10);
+
+        assertThat(facets.getTotal()).isZero();
+        assertThat(facets.getContent()).isEmpty();
+        assertThat(facets.getNextToken()).isNull();
+        verify(bookViewRepository, times(0)).findBookViewsByIds(any());
+    }
+
+    private static BookDTO view(Long id, String name) {
+        return BookDTO.builder().id(id).name(name).prize(BigDecimal.ONE).build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.exception.InvalidContinuationTokenException;
+import com.jesus.pereira.bookstoreapi.exception.InvalidSearchCriteriaException;
+import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.pagination.SortedContinuationToken;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookFilterCriteria;
+import com.jesus.pereira.bookstoreapi.service.impl.BookFilterServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class BookFilterServiceTest {
+
+    @Mock
+    BookRepository bookRepository;
+
+    @Mock
+    BookMapper bookMapper;
+
+    @InjectMocks
+    BookFilterServiceImpl bookFilterService;
+
+    @Test
+    void givenMoreRowsThanPageSizeShouldReturnTokenWithLastSortValue() {
+        Book book1 = Book.builder().id(3L).prize(new BigDecimal("30.00")).build();
+        Book book2 = Book.builder().id(1L).prize(new BigDecimal("20.00")).build();
+        Book book3 = Book.builder().id(2L).prize(new BigDecimal("10.00")).build();
+        given(bookRepository.findWithAuthorAndCategory(any(), eq(Sort.by(Sort.Direction.DESC, "prize").and(Sort.by("id"))), eq(3)))
+                .willReturn(List.of(book1, book2, book3));
+        given(bookMapper.toBookDto(any())).willAnswer(invocation -> BookDTO.builder()
+                .id(invocation.<Book>getArgument(0).getId()).name("Book").prize(BigDecimal.ONE).build());
+
+        KeysetPage<BookDTO> page = bookFilterService.filterBooks(
+                BookFilterCriteria.builder().sort("prize").direction("desc").build(), null, 2);
+
+        assertThat(page.getContent()).extracting(BookDTO::getId).containsExactly(3L, 1L);
+        SortedContinuationToken.Position<BigDecimal> position =
+                SortedContinuationToken.decode(page.getNextToken(), "prize,DESC", BigDecimal::new);
+        assertThat(position.getLastId()).isEqualTo(1L);
+        assertThat(position.getLastValue()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void givenLastPageShouldReturnNoToken() {
+        given(bookRepository.findWithAuthorAndCategory(any(), any(), eq(21))).willReturn(List.of());
+
+        KeysetPage<BookDTO> page = bookFilterService.filterBooks(BookFilterCriteria.builder().build(), null, 20);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextToken()).isNull();
+    }
+
+    @Test
+    void givenTokenIssuedForAnotherSortShouldThrowException() {
+        String token = SortedContinuationToken.encode("prize,DESC", 1L, new BigDecimal("20.00"));
+
+        assertThatThrownBy(() -> bookFilterService.filterBooks(
+                BookFilterCriteria.builder().sort("pages").build(), token, 20))
+                .isInstanceOf(InvalidContinuationTokenException.class);
+        verify(bookRepository, times(0)).findWithAuthorAndCategory(any(), any(), any(Integer.class));
+    }
+
+    @Test
+    void givenUnknownSortOrDirectionShouldThrowException() {
+        assertThatThrownBy(() -> bookFilterService.filterBooks(
+                BookFilterCriteria.builder().sort("nameKey").build(), null, 20))
+                .isInstanceOf(InvalidSearchCriteriaException.class);
+        assertThatThrownBy(() -> bookFilterService.filterBooks(
+                BookFilterCriteria.builder().direction("sideways").build(), null, 20))
+                .isInstanceOf(InvalidSearchCriteriaException.class);
+    }
+}
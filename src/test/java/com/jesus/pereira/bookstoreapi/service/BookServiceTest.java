@@ -1,34 +1,53 @@
 package com.jesus.pereira.bookstoreapi.service;
 
 
+import com.jesus.pereira.bookstoreapi.cache.BookResponseCache;
 import com.jesus.pereira.bookstoreapi.domain.Author;
 import com.jesus.pereira.bookstoreapi.domain.Book;
 import com.jesus.pereira.bookstoreapi.domain.Category;
 import com.jesus.pereira.bookstoreapi.exception.BookAlreadyExistsException;
+import com.jesus.pereira.bookstoreapi.exception.InvalidContinuationTokenException;
 import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
-import com.jesus.pereira.bookstoreapi.mapper.AuthorMapper;
+import com.jesus.pereira.bookstoreapi.exception.StaleVersionException;
 import com.jesus.pereira.bookstoreapi.mapper.BookMapper;
-import com.jesus.pereira.bookstoreapi.mapper.CategoryMapper;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
 import com.jesus.pereira.bookstoreapi.repository.BookRepository;
-import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
+import com.jesus.pereira.bookstoreapi.repository.PartialUpdateRepository;
 import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
-import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookPatchDTO;
+import com.jesus.pereira.bookstoreapi.search.BookFacetIndex;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.ExistingNameFilter;
 import com.jesus.pereira.bookstoreapi.service.impl.BookServiceImpl;
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import com.jesus.pereira.bookstoreapi.statistics.CatalogStatistics;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -49,11 +68,26 @@ public class BookServiceTest {
     @Mock
     BookMapper bookMapper;
 
+    @Spy
+    BookSearchIndex bookSearchIndex = new BookSearchIndex();
+
+    @Mock
+    PartialUpdateRepository partialUpdateRepository;
+
     @Mock
-    CategoryMapper categoryMapper;
+    BookResponseCache bookResponseCache;
 
     @Mock
-    AuthorMapper authorMapper;
+    BookViewRepository bookViewRepository;
+
+    @Spy
+    ExistingNameFilter existingNameFilter = new ExistingNameFilter(1000);
+
+    @Spy
+    CatalogStatistics catalogStatistics = new CatalogStatistics();
+
+    @Spy
+    BookFacetIndex bookFacetIndex = new BookFacetIndex();
 
     @InjectMocks
     BookServiceImpl bookService;
@@ -65,8 +99,6 @@ public class BookServiceTest {
     private Book book1;
     private Book book2;
     private Book book3;
-    private AuthorDTO authorDTO;
-    private CategoryDTO categoryDTO;
 
 
     @BeforeEach
@@ -127,6 +159,24 @@ public class BookServiceTest {
         assertThat(retrievedBook).usingRecursiveComparison().isEqualTo(book1);
     }
 
+    @Test
+    void givenManyIdsShouldLoadBooksInChunksAndKeepRequestOrder() {
+        List<Long> ids = LongStream.rangeClosed(1, 2500).map(id -> 2501 - id).boxed().collect(Collectors.toList());
+        given(bookRepository.findWithAuthorAndCategoryByIdIn(any())).willAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).stream()
+                        .filter(id -> id % 2 == 0)
+                        .map(id -> Book.builder().id(id).build())
+                        .collect(Collectors.toList()));
+
+        List<Book> books = bookService.findBooksByIds(ids, BookFetch.WITH_AUTHOR_AND_CATEGORY);
+
+        verify(bookRepository, times(3)).findWithAuthorAndCategoryByIdIn(any());
+        verify(bookRepository, times(0)).findAllById(any());
+        assertThat(books).hasSize(1250);
+        assertThat(books.get(0).getId()).isEqualTo(2500L);
+        assertThat(books.get(1249).getId()).isEqualTo(2L);
+    }
+
     @Test
     void givenAuthorIdShouldReturnAllBooks() {
 
@@ -143,6 +193,88 @@ public class BookServiceTest {
         assertThat(retrievedBooks).containsAll(bookList);
     }
 
+    @Test
+    void givenPageSizeShouldReturnKeysetPageWithNextToken() {
+        book1.setId(1L);
+        book2.setId(2L);
+        book3.setId(3L);
+
+        List<Book> bookList = new ArrayList<>();
+        bookList.add(book1);
+        bookList.add(book2);
+        bookList.add(book3);
+
+        given(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).willReturn(bookList);
+        KeysetPage<Book> page = bookService.findAllBooks(null, 2);
+
+        assertThat(page.getContent()).containsExactly(book1, book2);
+        assertThat(ContinuationToken.decode(page.getNextToken())).isEqualTo(2L);
+    }
+
+    @Test
+    void givenRelationsFetchShouldReturnKeysetPageFromEntityGraphQuery() {
+        book1.setId(1L);
+
+        given(bookRepository.findWithAuthorAndCategoryByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .willReturn(List.of(book1));
+        KeysetPage<Book> page = bookService.findAllBooks(null, 2, BookFetch.WITH_AUTHOR_AND_CATEGORY);
+
+        verify(bookRepository, times(0)).findByIdGreaterThanOrderByIdAsc(any(), any());
+        assertThat(page.getContent()).containsExactly(book1);
+    }
+
+    @Test
+    void givenRelationsFetchShouldReturnBooksByAuthorFromEntityGraphQuery() {
+        given(bookRepository.findWithAuthorAndCategoryByAuthorId(author.getId())).willReturn(List.of(book1, book2));
+        List<Book> retrievedBooks = bookService.findBooksByAuthorId(author.getId(), BookFetch.WITH_AUTHOR_AND_CATEGORY);
+
+        verify(bookRepository, times(0)).findByAuthorId(any());
+        assertThat(retrievedBooks).containsExactly(book1, book2);
+    }
+
+    @Test
+    void givenPageSizeShouldReturnKeysetPageOfBookViews() {
+        BookDTO view1 = BookDTO.builder().id(1L).name("Book1").prize(BigDecimal.ONE).build();
+        BookDTO view2 = BookDTO.builder().id(2L).name("Book2").prize(BigDecimal.ONE).build();
+
+        given(bookViewRepository.findBookViewsAfter(eq(0L), any())).willReturn(List.of(view1, view2));
+        KeysetPage<BookDTO> page = bookService.findAllBookViews(null, 1);
+
+        verify(bookMapper, times(0)).toBookDto(any());
+        assertThat(page.getContent()).containsExactly(view1);
+        assertThat(ContinuationToken.decode(page.getNextToken())).isEqualTo(1L);
+    }
+
+    @Test
+    void givenLastPageShouldReturnKeysetPageWithoutNextToken() {
+        book3.setId(3L);
+
+        given(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any())).willReturn(List.of(book3));
+        KeysetPage<Book> page = bookService.findAllBooks(ContinuationToken.encode(2L), 2);
+
+        assertThat(page.getContent()).containsExactly(book3);
+        assertThat(page.getNextToken()).isNull();
+    }
+
+    @Test
+    void givenInvalidContinuationTokenShouldThrowException() {
+        assertThatThrownBy(() -> bookService.findAllBooks("not-a-token", 2))
+                .isInstanceOf(InvalidContinuationTokenException.class);
+    }
+
+    @Test
+    void givenNameShouldReturnBooksWithNameLikeFromIndex() {
+        book1.setId(1L);
+        book2.setId(2L);
+        book3.setId(3L);
+
+        bookSearchIndex.indexAll(List.of(book1, book2, book3));
+        given(bookRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(book2, book1));
+        List<Book> retrievedBooks = bookService.findBooksByNameLike("book");
+
+        assertThat(retrievedBooks).containsExactly(book1, book2);
+    }
+
     @Test
     void givenCategoryIdShouldReturnAllBooks() {
 
@@ -182,22 +314,64 @@ public class BookServiceTest {
                 .category(category)
                 .build();
 
-        given(bookRepository.findByNameIgnoreCase(bookDto.getName())).willReturn(Optional.empty());
         given(bookMapper.toBook(bookDto)).willReturn(bookToPersist);
         given(authorService.findAuthorById(any())).willReturn(author);
         given(categoryService.findCategoryById(any())).willReturn(category);
-        given(bookRepository.save(bookToPersist)).willAnswer(
+        given(bookRepository.saveAndFlush(bookToPersist)).willAnswer(
                 invocationOnMock -> invocationOnMock.getArgument(0));
 
         Book createdBook = bookService.createBook(bookDto);
 
+        verify(bookRepository, times(0)).findByNameIgnoreCase(any());
+        assertThat(existingNameFilter.mightContainBook("booktopersist")).isTrue();
+        assertThat(catalogStatistics.author(author.getId()).toDto().getBookCount()).isEqualTo(1);
+        assertThat(bookFacetIndex.size()).isEqualTo(1);
         assertThat(createdBook).isNotNull();
         assertThat(createdBook).usingRecursiveComparison().isEqualTo(bookToPersist);
     }
 
+    @Test
+    void givenKnownNameOfExistingBookWhenSavingShouldThrowWithoutInserting() {
+        BookDTO bookDto = BookDTO.builder().name("Book1").prize(BigDecimal.ONE).authorId(1L).categoryId(1L).build();
+        existingNameFilter.addBook("BOOK1");
+
+        given(bookRepository.findByNameIgnoreCase("Book1")).willReturn(Optional.of(book1));
+
+        assertThatThrownBy(() -> bookService.createBook(bookDto))
+                .isInstanceOf(BookAlreadyExistsException.class);
+        verify(bookRepository, times(0)).saveAndFlush(any());
+    }
+
+    @Test
+    void givenUniqueNameViolationWhenSavingShouldThrowBookAlreadyExists() {
+        BookDTO bookDto = BookDTO.builder().name("Book1").prize(BigDecimal.ONE).authorId(1L).categoryId(1L).build();
+
+        given(bookMapper.toBook(bookDto)).willReturn(book1);
+        given(bookRepository.saveAndFlush(book1)).willThrow(violationOf("PUBLIC.UX_BOOK_NAME ON PUBLIC.BOOK(NAME_KEY)"));
+
+        assertThatThrownBy(() -> bookService.createBook(bookDto))
+                .isInstanceOf(BookAlreadyExistsException.class);
+    }
+
+    @Test
+    void givenOtherIntegrityViolationWhenSavingShouldRethrowIt() {
+        BookDTO bookDto = BookDTO.builder().name("Book1").prize(BigDecimal.ONE).authorId(1L).categoryId(1L).build();
+
+        given(bookMapper.toBook(bookDto)).willReturn(book1);
+        given(bookRepository.saveAndFlush(book1)).willThrow(violationOf("PUBLIC.FK_BOOK_AUTHOR"));
+
+        assertThatThrownBy(() -> bookService.createBook(bookDto))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static DataIntegrityViolationException violationOf(String constraintName) {
+        return new DataIntegrityViolationException("violation",
+                new ConstraintViolationException("violation", new SQLException("violation"), constraintName));
+    }
+
     @Test
     void givenUpdateRequestShouldUpdateBook() {
-        Long id = 1L;
+        final Long id = 1L;
 
         BookDTO bookDto = BookDTO.builder()
                 .name("BookToPersist")
@@ -207,74 +381,172 @@ public class BookServiceTest {
                 .authorId(1L)
                 .categoryId(1L)
                 .build();
+        book1.setId(id);
+        book1.setVersion(1L);
 
-        Book bookToUpdate = Book.builder()
-                .id(1L)
-                .name("BookToPersist")
-                .description("First book")
-                .prize(new BigDecimal("39.99"))
-                .pages(100)
-                .author(author)
-                .category(category)
-                .creationDate(LocalDateTime.now())
-                .build();
+        given(bookRepository.findById(id)).willReturn(Optional.of(book1));
 
-        given(bookRepository.findById(id)).willReturn(Optional.of(bookToUpdate));
-        given(bookMapper.toBookUpdate(bookDto, id)).willReturn(bookToUpdate);
-        given(authorService.findAuthorById(any())).willReturn(author);
-        given(categoryService.findCategoryById(any())).willReturn(category);
-        given(bookRepository.save(bookToUpdate)).willReturn(bookToUpdate);
+        Book updatedBook = bookService.updateBook(bookDto, id, 1L);
 
-        Book updatedBook = bookService.updateBook(bookDto, id);
+        verify(bookMapper, times(1)).updateBook(bookDto, book1);
+        verify(authorService, times(0)).findAuthorById(any());
+        verify(categoryService, times(0)).findCategoryById(any());
+        verify(bookRepository, times(0)).save(any());
+        assertThat(updatedBook).isSameAs(book1);
+        assertThat(updatedBook.getUpdateDate()).isNotNull();
+    }
 
-        verify(bookRepository, times(1)).findById(any());
-        verify(bookRepository, times(1)).save(any());
+    @Test
+    void givenUpdateRequestWithNewAuthorShouldReassignAuthor() {
+        final Long id = 1L;
+        Author newAuthor = Author.builder().id(2L).name("Author2").surname("Test").build();
+        BookDTO bookDto = BookDTO.builder().name("Book1").prize(BigDecimal.ONE).authorId(2L).categoryId(1L).build();
+        book1.setId(id);
 
-        assertThat(updatedBook).isNotNull();
-        assertThat(updatedBook).usingRecursiveComparison()
-                .ignoringFields("updateDate")
-                .isEqualTo(bookToUpdate);
-        assertThat(updatedBook.getUpdateDate()).isNotNull();
+        given(bookRepository.findForUpdateById(id)).willReturn(Optional.of(book1));
+        given(authorService.findAuthorById(2L)).willReturn(newAuthor);
+
+        Book updatedBook = bookService.updateBook(bookDto, id, null);
+
+        assertThat(updatedBook.getAuthor()).isSameAs(newAuthor);
+        verify(bookRepository, times(0)).findById(any());
     }
 
     @Test
-    void givenBookIdShouldDeleteBook() {
+    void givenStaleVersionShouldNotUpdateBook() {
+        book1.setId(bookId);
+        book1.setVersion(5L);
+        BookDTO bookDto = BookDTO.builder().name("Book1").prize(BigDecimal.ONE).build();
 
-        BookDTO bookDto = BookDTO.builder()
-                .name("BookToPersist")
-                .description("First book")
-                .prize(new BigDecimal("39.99"))
-                .pages(100)
-                .authorId(1L)
-                .categoryId(1L)
-                .build();
+        given(bookRepository.findById(bookId)).willReturn(Optional.of(book1));
 
-        Book bookToDelete = Book.builder()
-                .id(1L)
-                .name("BookToPersist")
-                .description("First book")
-                .prize(new BigDecimal("39.99"))
-                .pages(100)
-                .author(author)
-                .category(category)
-                .build();
+        assertThatThrownBy(() -> bookService.updateBook(bookDto, bookId, 4L))
+                .isInstanceOf(StaleVersionException.class);
+        verify(bookMapper, times(0)).updateBook(any(), any());
+    }
 
-        List<Book> bookList = new ArrayList<>();
-        bookList.add(bookToDelete);
-        category.setBooks(bookList);
-        author.setBooks(bookList);
+    @Test
+    void givenPatchRequestWithNonIndexedColumnsShouldIssueSingleUpdate() {
+        BookPatchDTO changes = BookPatchDTO.builder().prize(new BigDecimal("19.99")).pages(120).build();
 
-        given(bookRepository.findById(1L)).willReturn(Optional.ofNullable(bookToDelete));
-        given(categoryService.findCategoryById(any())).willReturn(category);
-        given(authorService.findAuthorById(any())).willReturn(author);
-        given(categoryMapper.toCategoryDto(category)).willReturn(categoryDTO);
-        given(authorMapper.toAuthorDto(author)).willReturn(authorDTO);
+        given(partialUpdateRepository.update(eq(Book.class), eq(bookId), eq(1L), any())).willReturn(1);
+
+        bookService.patchBook(bookId, changes, 1L);
+
+        verify(partialUpdateRepository).update(eq(Book.class), eq(bookId), eq(1L), argThat(columns ->
+                columns.keySet().equals(Set.of("prize", "pages", "updateDate"))));
+        verify(bookRepository, times(0)).findById(any());
+    }
+
+    @Test
+    void givenPatchRequestWithNameShouldReindexBookWithoutReadingItBack() {
+        book1.setId(bookId);
+        bookSearchIndex.index(book1);
+        BookPatchDTO changes = BookPatchDTO.builder().name("Renamed").build();
+
+        given(partialUpdateRepository.update(eq(Book.class), eq(bookId), eq(null), any())).willReturn(1);
+
+        bookService.patchBook(bookId, changes, null);
+
+        verify(bookRepository, times(0)).findById(any());
+        assertThat(bookSearchIndex.searchPrimaryField("renamed")).containsExactly(bookId);
+        assertThat(bookSearchIndex.searchPrimaryField("book1")).isEmpty();
+        assertThat(bookSearchIndex.search("first", 10)).containsExactly(bookId);
+    }
+
+    @Test
+    void givenPatchRequestWithAuthorShouldSetItByReference() {
+        Author newAuthor = Author.builder().id(2L).build();
+        BookPatchDTO changes = BookPatchDTO.builder().authorId(2L).build();
+
+        given(partialUpdateRepository.reference(Author.class, 2L)).willReturn(newAuthor);
+        given(bookRepository.findFiguresForUpdateById(bookId))
+                .willReturn(Optional.of(new BookFigures(bookId, 1L, 1L, BigDecimal.ONE, 10, 0L)));
+        given(partialUpdateRepository.update(eq(Book.class), eq(bookId), eq(null), any())).willReturn(1);
+
+        bookService.patchBook(bookId, changes, null);
+
+        verify(partialUpdateRepository).update(eq(Book.class), eq(bookId), eq(null), argThat(columns ->
+                columns.get("author") == newAuthor));
+        verify(authorService, times(0)).findAuthorById(any());
+        verify(bookResponseCache, times(1)).evictBookLists(1L, 1L);
+        verify(catalogStatistics).bookSaved(argThat(figures -> figures.getAuthorId() == 2L && figures.getVersion() == 1L));
+        assertThat(catalogStatistics.author(2L).toDto().getBookCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenPatchRequestWithMissingAuthorShouldThrowException() {
+        BookPatchDTO changes = BookPatchDTO.builder().authorId(2L).build();
+
+        given(bookRepository.findFiguresForUpdateById(bookId))
+                .willReturn(Optional.of(new BookFigures(bookId, 1L, 1L, BigDecimal.ONE, 10, 0L)));
+        given(partialUpdateRepository.update(eq(Book.class), eq(bookId), eq(null), any()))
+                .willThrow(new DataIntegrityViolationException("violation",
+                        new ConstraintViolationException("violation", new SQLException("violation"),
+                                "PUBLIC.FK_BOOK_AUTHOR: PUBLIC.BOOK FOREIGN KEY(AUTHOR_ID) REFERENCES PUBLIC.AUTHOR(ID)")));
+
+        assertThatThrownBy(() -> bookService.patchBook(bookId, changes, null))
+                .isInstanceOf(NoSuchElementExistsException.class);
+    }
+
+    @Test
+    void givenPatchRequestForMissingBookShouldThrowException() {
+        given(partialUpdateRepository.update(eq(Book.class), eq(bookId), eq(null), any())).willReturn(0);
+
+        assertThatThrownBy(() -> bookService.patchBook(bookId, new BookPatchDTO(), null))
+                .isInstanceOf(NoSuchElementExistsException.class);
+        verify(bookRepository, times(0)).existsById(any());
+    }
+
+    @Test
+    void givenBookIdShouldDeleteBook() {
+        book1.setId(bookId);
+        bookSearchIndex.index(book1);
+        given(bookRepository.deleteBookById(bookId)).willReturn(1);
 
         bookService.deleteBook(bookId);
 
-        verify(categoryService, times(1)).findCategoryById(any());
-        verify(authorService, times(1)).findAuthorById(any());
-        verify(bookRepository, times(1)).deleteById(bookId);
+        assertThat(bookSearchIndex.size()).isZero();
+        verify(bookFacetIndex, times(1)).remove(bookId);
+        verify(catalogStatistics, times(1)).bookRemoved(bookId);
+        verify(bookResponseCache, times(1)).evictBook(bookId);
+        verify(bookRepository, times(0)).findById(any());
+        verify(categoryService, times(0)).findCategoryById(any());
+        verify(authorService, times(0)).findAuthorById(any());
+    }
+
+    @Test
+    void givenBookIdNotPersistedWhenDeletingShouldThrowException() {
+        given(bookRepository.deleteBookById(bookId)).willReturn(0);
+
+        assertThatThrownBy(() -> bookService.deleteBook(bookId)).isInstanceOf(NoSuchElementExistsException.class);
+    }
+
+    @Test
+    void givenBookIdsShouldDeleteInChunks() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        given(bookRepository.deleteBooksByIds(any())).willReturn(1000, 500);
+
+        int deleted = bookService.deleteBooks(ids);
+
+        verify(bookRepository, times(2)).deleteBooksByIds(any());
+        assertThat(deleted).isEqualTo(1500);
+    }
+
+    @Test
+    void givenAuthorIdShouldDeleteBooksOfAuthor() {
+        book1.setId(1L);
+        book2.setId(2L);
+        bookSearchIndex.indexAll(List.of(book1, book2));
+        given(bookRepository.findIdsByAuthorId(author.getId())).willReturn(List.of(1L, 2L));
+        given(bookRepository.deleteBooksByAuthorId(author.getId())).willReturn(2);
+
+        assertThat(bookService.deleteBooksByAuthorId(author.getId())).isEqualTo(2);
+        assertThat(bookSearchIndex.size()).isZero();
     }
 
     @Test
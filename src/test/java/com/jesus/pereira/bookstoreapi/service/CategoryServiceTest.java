@@ -1,18 +1,35 @@
 package com.jesus.pereira.bookstoreapi.service;
 
+import com.jesus.pereira.bookstoreapi.cache.BookResponseCache;
 import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.exception.CategoryAlreadyExistsException;
 import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
+import com.jesus.pereira.bookstoreapi.exception.StaleVersionException;
 import com.jesus.pereira.bookstoreapi.mapper.CategoryMapper;
+import com.jesus.pereira.bookstoreapi.pagination.ContinuationToken;
+import com.jesus.pereira.bookstoreapi.pagination.KeysetPage;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
 import com.jesus.pereira.bookstoreapi.repository.CategoryRepository;
 import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryPatchDTO;
+import com.jesus.pereira.bookstoreapi.search.BookFacetIndex;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.CategorySearchIndex;
+import com.jesus.pereira.bookstoreapi.search.ExistingNameFilter;
 import com.jesus.pereira.bookstoreapi.service.impl.CategoryServiceImpl;
+import com.jesus.pereira.bookstoreapi.statistics.CatalogStatistics;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -20,7 +37,9 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -33,6 +52,30 @@ public class CategoryServiceTest {
     @Mock
     CategoryMapper categoryMapper;
 
+    @Spy
+    CategorySearchIndex categorySearchIndex = new CategorySearchIndex();
+
+    @Mock
+    BookRepository bookRepository;
+
+    @Spy
+    BookSearchIndex bookSearchIndex = new BookSearchIndex();
+
+    @Mock
+    BookResponseCache bookResponseCache;
+
+    @Mock
+    BookViewRepository bookViewRepository;
+
+    @Spy
+    ExistingNameFilter existingNameFilter = new ExistingNameFilter(1000);
+
+    @Spy
+    CatalogStatistics catalogStatistics = new CatalogStatistics();
+
+    @Spy
+    BookFacetIndex bookFacetIndex = new BookFacetIndex();
+
     @InjectMocks
     CategoryServiceImpl categoryService;
 
@@ -58,6 +101,19 @@ public class CategoryServiceTest {
                 .build();
     }
 
+    @Test
+    void givenPageSizeShouldReturnKeysetPageOfCategoryViews() {
+        CategoryDTO view1 = CategoryDTO.builder().id(1L).name("Category1").description("Test1").build();
+        CategoryDTO view2 = CategoryDTO.builder().id(2L).name("Category2").description("Test2").build();
+
+        given(categoryRepository.findCategoryViewsAfter(eq(0L), any())).willReturn(List.of(view1, view2));
+        KeysetPage<CategoryDTO> page = categoryService.findAllCategoryViews(null, 1);
+
+        verify(categoryMapper, times(0)).toCategoryDto(any());
+        assertThat(page.getContent()).containsExactly(view1);
+        assertThat(ContinuationToken.decode(page.getNextToken())).isEqualTo(1L);
+    }
+
     @Test
     void givenAnIdShouldReturnCategory() {
         Long id = 1L;
@@ -71,6 +127,17 @@ public class CategoryServiceTest {
         assertThat(retrievedCategory).usingRecursiveComparison().isEqualTo(category1);
     }
 
+    @Test
+    void givenIdsShouldReturnFoundCategoriesInRequestOrder() {
+        category1.setId(1L);
+        category2.setId(2L);
+
+        given(categoryRepository.findAllById(List.of(2L, 1L, 3L))).willReturn(List.of(category1, category2));
+        List<Category> categories = categoryService.findCategoriesByIds(List.of(2L, 1L, 3L));
+
+        assertThat(categories).containsExactly(category2, category1);
+    }
+
     @Test
     void givenSearchRequestShouldReturnAllCategories() {
 
@@ -91,14 +158,18 @@ public class CategoryServiceTest {
     void givenNameShouldReturnAllCategoriesWithNameLike() {
 
         String name = "cat";
+        category1.setId(1L);
+        category2.setId(2L);
+        category3.setId(3L);
         List<Category> categoryList = new ArrayList<>();
         categoryList.add(category1);
         categoryList.add(category2);
 
-        given(categoryRepository.findByNameContainingIgnoreCase(name)).willReturn(categoryList);
+        categorySearchIndex.indexAll(List.of(category1, category2, category3));
+        given(categoryRepository.findAllById(List.of(1L, 2L))).willReturn(categoryList);
         List<Category> retrievedCategories = categoryService.findCategoriesByNameLike(name);
 
-        verify(categoryRepository, times(1)).findByNameContainingIgnoreCase(any());
+        verify(categoryRepository, times(1)).findAllById(any());
         assertThat(retrievedCategories).isNotEmpty();
         assertThat(retrievedCategories).size().isEqualTo(2);
     }
@@ -117,20 +188,51 @@ public class CategoryServiceTest {
                 .build();
 
 
-        given(categoryRepository.findByNameIgnoreCase(categoryDto.getName())).willReturn(Optional.empty());
         given(categoryMapper.toCategory(categoryDto)).willReturn(categoryToPersist);
-        given(categoryRepository.save(categoryToPersist)).willAnswer(
-                invocationOnMock -> invocationOnMock.getArgument(0));
+        given(categoryRepository.save(categoryToPersist)).willAnswer(invocationOnMock -> {
+            Category saved = invocationOnMock.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
 
         Category categoryPersisted = categoryService.createCategory(categoryDto);
 
         verify(categoryRepository, times(1)).save(any());
+        verify(categorySearchIndex, times(1)).index(categoryToPersist);
+        verify(categoryRepository, times(0)).findByNameIgnoreCase(any());
         assertThat(categoryPersisted).isNotNull();
         assertThat(categoryPersisted).usingRecursiveComparison()
                 .ignoringFields("id")
                 .isEqualTo(categoryToPersist);
     }
 
+    @Test
+    void givenKnownNameOfExistingCategoryWhenSavingShouldThrowWithoutInserting() {
+        CategoryDTO categoryDto = CategoryDTO.builder().name("Category1").description("Test").build();
+        existingNameFilter.addCategory("category1");
+
+        given(categoryRepository.findByNameIgnoreCase("Category1")).willReturn(Optional.of(category1));
+
+        assertThatThrownBy(() -> categoryService.createCategory(categoryDto))
+                .isInstanceOf(CategoryAlreadyExistsException.class);
+        verify(categoryRepository, times(0)).save(any());
+    }
+
+    @Test
+    void givenUniqueNameViolationWhenPatchingShouldThrowCategoryAlreadyExists() {
+        CategoryPatchDTO changes = CategoryPatchDTO.builder().name("Category2").build();
+        category1.setId(1L);
+
+        given(categoryRepository.findById(1L)).willReturn(Optional.of(category1));
+        willThrow(new DataIntegrityViolationException("violation",
+                new ConstraintViolationException("violation", new SQLException("violation"),
+                        "PUBLIC.UX_CATEGORY_NAME ON PUBLIC.CATEGORY(NAME_KEY)")))
+                .given(categoryRepository).flush();
+
+        assertThatThrownBy(() -> categoryService.patchCategory(1L, changes, null))
+                .isInstanceOf(CategoryAlreadyExistsException.class);
+    }
+
     @Test
     void givenUpdateRequestAndIdShouldUpdateAuthor() {
         final Long id = 1L;
@@ -139,34 +241,69 @@ public class CategoryServiceTest {
                 .name("Category")
                 .description("Test4")
                 .build();
+        category1.setId(id);
 
-        Category categoryToPersist = Category.builder()
-                .id(1L)
-                .name("Category")
-                .description("Test4")
-                .build();
+        given(categoryRepository.findById(id)).willReturn(Optional.of(category1));
 
-        given(categoryMapper.toCategoryUpdate(categoryDto, id)).willReturn(categoryToPersist);
-        given(categoryRepository.findById(id)).willReturn(Optional.of(categoryToPersist));
-        given(categoryRepository.save(categoryToPersist)).willReturn(categoryToPersist);
+        final Category categoryUpdated = categoryService.updateCategory(categoryDto, id, null);
 
-        final Category categoryUpdated = categoryService.updateCategory(categoryDto, id);
+        verify(categoryMapper, times(1)).updateCategory(categoryDto, category1);
+        verify(categoryRepository, times(0)).save(any());
+        assertThat(categoryUpdated).isSameAs(category1);
+    }
 
-        verify(categoryRepository, times(1)).findById(any());
-        verify(categoryRepository, times(1)).save(any());
-        assertThat(categoryUpdated).usingRecursiveComparison().isEqualTo(categoryToPersist);
+    @Test
+    void givenPatchRequestShouldChangeOnlyGivenFieldsOfManagedCategory() {
+        final Long id = 1L;
+        category1.setId(id);
+        CategoryPatchDTO changes = CategoryPatchDTO.builder().description("Updated").build();
+
+        given(categoryRepository.findById(id)).willReturn(Optional.of(category1));
+
+        categoryService.patchCategory(id, changes, null);
+
+        verify(categoryRepository, times(1)).flush();
+        verify(categoryRepository, times(0)).save(any());
+        verify(categorySearchIndex, times(0)).index(any());
+        verify(bookResponseCache, times(1)).evictCategory(id);
+        assertThat(category1.getName()).isEqualTo("Category1");
+        assertThat(category1.getDescription()).isEqualTo("Updated");
+        assertThat(category1.getUpdateDate()).isNotNull();
+    }
+
+    @Test
+    void givenPatchRequestWithStaleVersionShouldThrowException() {
+        category1.setId(1L);
+        category1.setVersion(5L);
+        given(categoryRepository.findById(1L)).willReturn(Optional.of(category1));
+
+        assertThatThrownBy(() -> categoryService.patchCategory(1L, CategoryPatchDTO.builder().name("Renamed").build(), 4L))
+                .isInstanceOf(StaleVersionException.class);
+        verify(categoryRepository, times(0)).flush();
     }
 
     @Test
     void givenAnIdShouldDeleteAuthor() {
         final Long id = 1L;
-        category2.setId(id);
-        given(categoryRepository.findById(id)).willReturn(Optional.of(category1));
+        given(bookRepository.findIdsByCategoryId(id)).willReturn(List.of(10L, 11L));
+        Category category = Category.builder().id(id).name("Category").build();
+        given(categoryRepository.findById(id)).willReturn(Optional.of(category));
 
-       categoryService.deleteCategory(id);
+        categoryService.deleteCategory(id);
 
-        verify(categoryRepository, times(1)).findById(any());
-        verify(categoryRepository, times(1)).deleteById(1L);
+        verify(bookRepository, times(1)).deleteBooksByCategoryId(id);
+        verify(bookSearchIndex, times(1)).remove(10L);
+        verify(bookSearchIndex, times(1)).remove(11L);
+        verify(categoryRepository, times(1)).delete(category);
+    }
+
+    @Test
+    void givenACategoryIdNotPersistedWhenDeletingShouldThrowException() {
+        given(categoryRepository.findById(1L)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> categoryService.deleteCategory(1L))
+                .isInstanceOf(NoSuchElementExistsException.class);
+        verify(bookRepository, times(0)).deleteBooksByCategoryId(any());
     }
 
     @Test
@@ -0,0 +1,173 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.exception.AuthorAlreadyExistsException;
+import com.jesus.pereira.bookstoreapi.exception.BookAlreadyExistsException;
+import com.jesus.pereira.bookstoreapi.exception.CategoryAlreadyExistsException;
+import com.jesus.pereira.bookstoreapi.repository.AuthorRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
+import com.jesus.pereira.bookstoreapi.repository.CategoryRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkItemErrorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BulkResultDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrent-create;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///concurrent-create"
+})
+public class ConcurrentCreateTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    BookService bookService;
+
+    @Autowired
+    BookBulkService bookBulkService;
+
+    @Autowired
+    AuthorService authorService;
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    AuthorRepository authorRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    BookViewRepository bookViewRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookViewRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentCreatesOfSameAuthorShouldPersistOneAndRejectTheRest() throws Exception {
+        List<Exception> failures = race(i -> () -> authorService.createAuthor(AuthorDTO.builder()
+                .name(casing("Racing", i))
+                .surname(casing("Author", i))
+                .build()));
+
+        assertThat(failures).hasSize(THREADS - 1).allMatch(AuthorAlreadyExistsException.class::isInstance);
+        assertThat(authorRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCreatesOfSameCategoryShouldPersistOneAndRejectTheRest() throws Exception {
+        List<Exception> failures = race(i -> () -> categoryService.createCategory(CategoryDTO.builder()
+                .name(casing("Racing", i))
+                .description("Category " + i)
+                .build()));
+
+        assertThat(failures).hasSize(THREADS - 1).allMatch(CategoryAlreadyExistsException.class::isInstance);
+        assertThat(categoryRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCreatesOfSameBookShouldPersistOneAndRejectTheRest() throws Exception {
+        Author author = authorRepository.save(Author.builder().name("Author").surname("Test").build());
+        Category category = categoryRepository.save(Category.builder().name("Category").description("Test").build());
+
+        List<Exception> failures = race(i -> () -> bookService.createBook(BookDTO.builder()
+                .name(casing("Racing book", i))
+                .prize(BigDecimal.TEN)
+                .authorId(author.getId())
+                .categoryId(category.getId())
+                .build()));
+
+        assertThat(failures).hasSize(THREADS - 1).allMatch(BookAlreadyExistsException.class::isInstance);
+        assertThat(bookRepository.count()).isEqualTo(1);
+        assertThat(bookViewRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void bulkCreateAfterConcurrentCommitOfSameNameShouldReportItemError() {
+        Author author = authorRepository.save(Author.builder().name("Author").surname("Test").build());
+        Category category = categoryRepository.save(Category.builder().name("Category").description("Test").build());
+        // Committed outside the service, so the name filter has not seen it, as with a create committing mid-batch.
+        bookRepository.save(Book.builder().name("Racing book").prize(BigDecimal.TEN).author(author).category(category).build());
+
+        BulkResultDTO result = bookBulkService.createBooks(List.of(
+                bookDto("Fresh book", author, category),
+                bookDto("RACING BOOK", author, category)));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(BulkItemErrorDTO::getIndex).containsExactly(1);
+        assertThat(bookRepository.count()).isEqualTo(2);
+        assertThat(bookViewRepository.count()).isEqualTo(1);
+    }
+
+    private static BookDTO bookDto(String name, Author author, Category category) {
+        return BookDTO.builder()
+                .name(name)
+                .prize(BigDecimal.TEN)
+                .authorId(author.getId())
+                .categoryId(category.getId())
+                .build();
+    }
+
+    private static List<Exception> race(IntFunction<Callable<?>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<?> task = tasks.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<Exception> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    failures.add((Exception) ex.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String casing(String name, int attempt) {
+        return attempt % 2 == 0 ? name.toUpperCase(Locale.ROOT) : name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,162 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
+import com.jesus.pereira.bookstoreapi.repository.AuthorRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
+import com.jesus.pereira.bookstoreapi.repository.CategoryRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookPatchDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookStatisticsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrent-patch;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///concurrent-patch"
+})
+public class ConcurrentPatchTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    BookService bookService;
+
+    @Autowired
+    StatisticsService statisticsService;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    AuthorRepository authorRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    BookViewRepository bookViewRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookViewRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        categoryRepository.deleteAll();
+        statisticsService.reconcile();
+    }
+
+    @Test
+    void concurrentPatchesOfSameBookShouldKeepAggregatesEqualToDatabase() throws Exception {
+        Author author = authorRepository.save(Author.builder().name("Author").surname("Test").build());
+        Category category = categoryRepository.save(Category.builder().name("Category").description("Test").build());
+        statisticsService.reconcile();
+        Book book = bookService.createBook(BookDTO.builder()
+                .name("Patched book")
+                .prize(BigDecimal.ONE)
+                .pages(10)
+                .authorId(author.getId())
+                .categoryId(category.getId())
+                .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 1; i <= THREADS; i++) {
+                BookPatchDTO changes = BookPatchDTO.builder().prize(BigDecimal.valueOf(i)).pages(i * 100).build();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    bookService.patchBook(book.getId(), changes, null);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BookStatisticsDTO incremental = statisticsService.findAuthorStatistics(author.getId());
+        statisticsService.reconcile();
+        BookStatisticsDTO recomputed = statisticsService.findAuthorStatistics(author.getId());
+
+        assertThat(incremental.getBookCount()).isEqualTo(1);
+        assertThat(incremental.getTotalPages()).isEqualTo(recomputed.getTotalPages());
+        assertThat(incremental.getAveragePrize()).isEqualByComparingTo(recomputed.getAveragePrize());
+    }
+
+    @Test
+    void concurrentUpdatesAndDeleteOfSameBookShouldKeepAggregatesEqualToDatabase() throws Exception {
+        Author author = authorRepository.save(Author.builder().name("Author").surname("Test").build());
+        Category category = categoryRepository.save(Category.builder().name("Category").description("Test").build());
+        statisticsService.reconcile();
+        Book kept = bookService.createBook(bookDto("Kept book", author, category, 1));
+        Book book = bookService.createBook(bookDto("Updated book", author, category, 1));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 1; i <= THREADS; i++) {
+                BookDTO changes = bookDto("Updated book", author, category, i);
+                boolean delete = i == THREADS / 2;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        if (delete) {
+                            bookService.deleteBook(book.getId());
+                        } else {
+                            bookService.updateBook(changes, book.getId(), null);
+                        }
+                    } catch (NoSuchElementExistsException e) {
+                        // the delete committed first
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BookStatisticsDTO incremental = statisticsService.findAuthorStatistics(author.getId());
+        statisticsService.reconcile();
+        BookStatisticsDTO recomputed = statisticsService.findAuthorStatistics(author.getId());
+
+        assertThat(bookRepository.findById(kept.getId())).isPresent();
+        assertThat(incremental.getBookCount()).isEqualTo(1);
+        assertThat(incremental.getTotalPages()).isEqualTo(recomputed.getTotalPages());
+        assertThat(incremental.getAveragePrize()).isEqualByComparingTo(recomputed.getAveragePrize());
+    }
+
+    private static BookDTO bookDto(String name, Author author, Category category, int figure) {
+        return BookDTO.builder()
+                .name(name)
+                .prize(BigDecimal.valueOf(figure))
+                .pages(figure * 100)
+                .authorId(author.getId())
+                .categoryId(category.getId())
+                .build();
+    }
+}
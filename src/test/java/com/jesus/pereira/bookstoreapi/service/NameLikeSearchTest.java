@@ -0,0 +1,122 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.domain.Author;
+import com.jesus.pereira.bookstoreapi.domain.Book;
+import com.jesus.pereira.bookstoreapi.domain.Category;
+import com.jesus.pereira.bookstoreapi.repository.AuthorRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookViewRepository;
+import com.jesus.pereira.bookstoreapi.repository.CategoryRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.AuthorDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookDTO;
+import com.jesus.pereira.bookstoreapi.resource.dto.CategoryDTO;
+import com.jesus.pereira.bookstoreapi.search.AuthorSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.BookSearchIndex;
+import com.jesus.pereira.bookstoreapi.search.CategorySearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:name-like-search;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///name-like-search"
+})
+public class NameLikeSearchTest {
+
+    @Autowired
+    BookService bookService;
+
+    @Autowired
+    AuthorService authorService;
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    AuthorRepository authorRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    BookViewRepository bookViewRepository;
+
+    @Autowired
+    BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    AuthorSearchIndex authorSearchIndex;
+
+    @Autowired
+    CategorySearchIndex categorySearchIndex;
+
+    @AfterEach
+    void tearDown() {
+        bookViewRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        categoryRepository.deleteAll();
+        bookSearchIndex.clear();
+        authorSearchIndex.clear();
+        categorySearchIndex.clear();
+    }
+
+    @Test
+    void shouldReturnAuthorsByNameLike() {
+        Author author1 = authorService.createAuthor(AuthorDTO.builder().name("Author1").surname("Test1").build());
+        Author author2 = authorService.createAuthor(AuthorDTO.builder().name("Author2").surname("Test2").build());
+        Author author3 = authorService.createAuthor(AuthorDTO.builder().name("John").surname("Doe").build());
+
+        assertThat(authorService.findAuthorsByNameLike("Aut")).extracting(Author::getId)
+                .containsExactly(author1.getId(), author2.getId());
+        assertThat(authorService.findAuthorsByNameLike("oh")).extracting(Author::getId)
+                .containsExactly(author3.getId());
+        assertThat(authorService.findAuthorsByNameLike("Doe")).isEmpty();
+    }
+
+    @Test
+    void shouldReturnAllCategoriesByNameLike() {
+        Category category1 = categoryService.createCategory(CategoryDTO.builder().name("Category1").description("Test1").build());
+        Category category2 = categoryService.createCategory(CategoryDTO.builder().name("Category2").description("Test2").build());
+        Category category3 = categoryService.createCategory(CategoryDTO.builder().name("Comedy").description("Comedy category").build());
+
+        assertThat(categoryService.findCategoriesByNameLike("cat")).extracting(Category::getId)
+                .containsExactly(category1.getId(), category2.getId());
+        assertThat(categoryService.findCategoriesByNameLike("dy")).extracting(Category::getId)
+                .containsExactly(category3.getId());
+    }
+
+    @Test
+    void shouldReturnAllBooksByNameLike() {
+        Author author = authorService.createAuthor(AuthorDTO.builder().name("Author").surname("Test").build());
+        Category category = categoryService.createCategory(CategoryDTO.builder().name("Category").description("Test").build());
+        Book book1 = bookService.createBook(bookDto("Book1", author, category));
+        Book book2 = bookService.createBook(bookDto("Book2", author, category));
+        Book book3 = bookService.createBook(bookDto("Comedy", author, category));
+
+        assertThat(bookService.findBooksByNameLike("boo")).extracting(Book::getId)
+                .containsExactly(book1.getId(), book2.getId());
+        assertThat(bookService.findBooksByNameLike("Co")).extracting(Book::getId)
+                .containsExactly(book3.getId());
+        assertThat(bookService.findBooksByNameLike("xyz")).isEmpty();
+    }
+
+    private static BookDTO bookDto(String name, Author author, Category category) {
+        return BookDTO.builder()
+                .name(name)
+                .description(name + " book")
+                .prize(new BigDecimal("59.99"))
+                .authorId(author.getId())
+                .categoryId(category.getId())
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.jesus.pereira.bookstoreapi.service;
+
+import com.jesus.pereira.bookstoreapi.exception.NoSuchElementExistsException;
+import com.jesus.pereira.bookstoreapi.repository.AuthorRepository;
+import com.jesus.pereira.bookstoreapi.repository.BookRepository;
+import com.jesus.pereira.bookstoreapi.repository.CategoryRepository;
+import com.jesus.pereira.bookstoreapi.resource.dto.BookStatisticsDTO;
+import com.jesus.pereira.bookstoreapi.service.impl.StatisticsServiceImpl;
+import com.jesus.pereira.bookstoreapi.statistics.BookFigures;
+import com.jesus.pereira.bookstoreapi.statistics.CatalogStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class StatisticsServiceTest {
+
+    @Mock
+    BookRepository bookRepository;
+
+    @Mock
+    AuthorRepository authorRepository;
+
+    @Mock
+    CategoryRepository categoryRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Spy
+    CatalogStatistics catalogStatistics = new CatalogStatistics();
+
+    @InjectMocks
+    StatisticsServiceImpl statisticsService;
+
+    @Test
+    void givenTrackedAuthorShouldServeStatisticsWithoutQuerying() {
+        catalogStatistics.bookSaved(new BookFigures(1L, 1L, 1L, new BigDecimal("10.00"), 100, 0L));
+
+        BookStatisticsDTO statistics = statisticsService.findAuthorStatistics(1L);
+
+        assertThat(statistics.getBookCount()).isEqualTo(1);
+        assertThat(statistics.getTotalPages()).isEqualTo(100);
+        verify(authorRepository, times(0)).existsById(any());
+    }
+
+    @Test
+    void givenRemovedMaximumShouldServeNextMaximumWithoutQuerying() {
+        catalogStatistics.bookSaved(new BookFigures(1L, 1L, 1L, new BigDecimal("10.00"), 100, 0L));
+        catalogStatistics.bookSaved(new BookFigures(2L, 1L, 1L, new BigDecimal("20.00"), 200, 0L));
+        catalogStatistics.bookRemoved(2L);
+
+        BookStatisticsDTO statistics = statisticsService.findCategoryStatistics(1L);
+
+        assertThat(statistics.getMaxPrize()).isEqualByComparingTo("10.00");
+        verifyNoInteractions(bookRepository, categoryRepository);
+    }
+
+    @Test
+    void givenAuthorWithoutBooksShouldReturnEmptyStatistics() {
+        given(authorRepository.existsById(1L)).willReturn(true);
+
+        BookStatisticsDTO statistics = statisticsService.findAuthorStatistics(1L);
+
+        assertThat(statistics.getBookCount()).isZero();
+        assertThat(statistics.getAveragePrize()).isNull();
+    }
+
+    @Test
+    void givenUnknownCategoryShouldThrowException() {
+        given(categoryRepository.existsById(1L)).willReturn(false);
+
+        assertThatThrownBy(() -> statisticsService.findCategoryStatistics(1L))
+                .isInstanceOf(NoSuchElementExistsException.class);
+    }
+
+    @Test
+    void givenReconciliationShouldRebuildAggregatesFromFigures() {
+        catalogStatistics.bookSaved(new BookFigures(1L, 9L, 9L, BigDecimal.ONE, 1, 0L));
+        given(bookRepository.findFiguresAfter(eq(0L), any())).willReturn(List.of(
+                new BookFigures(1L, 1L, 1L, BigDecimal.ONE, 10, 0L),
+                new BookFigures(2L, 1L, 1L, BigDecimal.TEN, 20, 0L)));
+
+        statisticsService.reconcile();
+
+        assertThat(catalogStatistics.author(9L)).isNull();
+        assertThat(catalogStatistics.author(1L).toDto().getAveragePrize()).isEqualByComparingTo("5.50");
+    }
+
+    @Test
+    void givenStartupShouldReconcileInReadOnlyTransaction() {
+        given(bookRepository.findFiguresAfter(eq(0L), any())).willReturn(List.of(
+                new BookFigures(1L, 1L, 1L, BigDecimal.ONE, 10, 0L)));
+
+        statisticsService.afterSingletonsInstantiated();
+
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
+        assertThat(catalogStatistics.author(1L).toDto().getBookCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.jesus.pereira.bookstoreapi.statistics;
+
+import com.jesus.pereira.bookstoreapi.resource.dto.BookStatisticsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CatalogStatisticsTest {
+
+    private CatalogStatistics catalogStatistics;
+
+    @BeforeEach
+    void setUp() {
+        catalogStatistics = new CatalogStatistics();
+        catalogStatistics.bookSaved(new BookFigures(1L, 1L, 1L, new BigDecimal("10.00"), 100, 0L));
+        catalogStatistics.bookSaved(new BookFigures(2L, 1L, 2L, new BigDecimal("20.00"), 200, 0L));
+        catalogStatistics.bookSaved(new BookFigures(3L, 2L, 2L, new BigDecimal("30.00"), 300, 0L));
+    }
+
+    @Test
+    void givenAddedBooksShouldAggregatePerAuthorAndCategory() {
+        BookStatisticsDTO author = catalogStatistics.author(1L).toDto();
+        BookStatisticsDTO category = catalogStatistics.category(2L).toDto();
+
+        assertThat(author.getBookCount()).isEqualTo(2);
+        assertThat(author.getTotalPages()).isEqualTo(300);
+        assertThat(author.getAveragePrize()).isEqualByComparingTo("15.00");
+        assertThat(category.getMinPrize()).isEqualByComparingTo("20.00");
+        assertThat(category.getMaxPrize()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void givenRemovedExtremeShouldUpdateSumsAndExtremes() {
+        catalogStatistics.bookSaved(new BookFigures(4L, 1L, 1L, new BigDecimal("10.00"), 50, 0L));
+        catalogStatistics.bookRemoved(2L);
+
+        BookStatisticsDTO author = catalogStatistics.author(1L).toDto();
+        assertThat(author.getBookCount()).isEqualTo(2);
+        assertThat(author.getAveragePrize()).isEqualByComparingTo("10.00");
+        assertThat(author.getMaxPrize()).isEqualByComparingTo("10.00");
+
+        catalogStatistics.bookRemoved(1L);
+        assertThat(catalogStatistics.author(1L).toDto().getMinPrize()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void givenLastBookRemovedShouldResetAggregate() {
+        catalogStatistics.bookRemoved(3L);
+
+        BookAggregate author = catalogStatistics.author(2L);
+        assertThat(author.toDto().getBookCount()).isZero();
+        assertThat(author.toDto().getMaxPrize()).isNull();
+        assertThat(author.toDto().getAveragePrize()).isNull();
+    }
+
+    @Test
+    void givenChangesOutOfOrderShouldKeepNewestVersion() {
+        catalogStatistics.bookSaved(new BookFigures(1L, 1L, 1L, new BigDecimal("40.00"), 400, 2L));
+        catalogStatistics.bookSaved(new BookFigures(1L, 2L, 1L, new BigDecimal("50.00"), 500, 1L));
+
+        assertThat(catalogStatistics.author(1L).toDto().getTotalPages()).isEqualTo(600);
+        assertThat(catalogStatistics.author(2L).toDto().getBookCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenRemovalBeforeCreateShouldNotCountBook() {
+        catalogStatistics.bookRemoved(4L);
+        catalogStatistics.bookSaved(new BookFigures(4L, 1L, 1L, BigDecimal.ONE, 10, 0L));
+
+        assertThat(catalogStatistics.author(1L).toDto().getBookCount()).isEqualTo(2);
+    }
+
+    @Test
+    void givenRebuildShouldReplaceAggregatesFromSnapshot() {
+        catalogStatistics.beginRebuild();
+        catalogStatistics.finishRebuild(List.of(new BookFigures(1L, 1L, 1L, new BigDecimal("25.00"), 500, 0L)));
+
+        assertThat(catalogStatistics.author(1L).toDto().getBookCount()).isEqualTo(1);
+        assertThat(catalogStatistics.author(1L).toDto().getTotalPages()).isEqualTo(500);
+        assertThat(catalogStatistics.author(2L)).isNull();
+        assertThat(catalogStatistics.category(2L)).isNull();
+    }
+
+    @Test
+    void givenChangesDuringRebuildShouldKeepThemOverSnapshot() {
+        catalogStatistics.beginRebuild();
+        catalogStatistics.bookSaved(new BookFigures(1L, 1L, 1L, new BigDecimal("10.00"), 150, 1L));
+        catalogStatistics.bookSaved(new BookFigures(4L, 2L, 1L, BigDecimal.ONE, 10, 0L));
+        catalogStatistics.bookRemoved(3L);
+        catalogStatistics.finishRebuild(List.of(
+                new BookFigures(1L, 1L, 1L, new BigDecimal("10.00"), 100, 0L),
+                new BookFigures(2L, 1L, 2L, new BigDecimal("20.00"), 200, 0L),
+                new BookFigures(3L, 2L, 2L, new BigDecimal("30.00"), 300, 0L)));
+
+        assertThat(catalogStatistics.author(1L).toDto().getTotalPages()).isEqualTo(350);
+        assertThat(catalogStatistics.author(2L).toDto().getBookCount()).isEqualTo(1);
+        assertThat(catalogStatistics.author(2L).toDto().getTotalPages()).isEqualTo(10);
+    }
+}